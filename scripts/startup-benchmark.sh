@@ -0,0 +1,55 @@
+#!/bin/sh
+# Compares startup time of the plain runtime image and the fast-start (AOT + AppCDS) image.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+#
+# Requires the compose database to be running (docker compose up -d database) and the values in .env.
+# Each run starts a fresh container and reads the "Started ApiApplication in X seconds" log line.
+set -eu
+
+RUNS=${1:-5}
+PROJECT=$(basename "$(pwd)" | tr '[:upper:]' '[:lower:]')
+NETWORK=${NETWORK:-${PROJECT}_default}
+
+set -a
+. ./.env
+set +a
+
+measure() {
+    target=$1
+    image="vnest-api:${target}"
+
+    docker build --quiet --target "$target" --tag "$image" . > /dev/null
+
+    total=0
+    i=1
+    while [ "$i" -le "$RUNS" ]; do
+        container=$(docker run --detach --network "$NETWORK" \
+            -e SPRING_DATASOURCE_URL="jdbc:postgresql://database:5432/${POSTGRES_DB}" \
+            -e SPRING_DATASOURCE_USERNAME="$POSTGRES_USER" \
+            -e SPRING_DATASOURCE_PASSWORD="$POSTGRES_PASSWORD" \
+            "$image")
+
+        seconds=""
+        while [ -z "$seconds" ]; do
+            if [ "$(docker inspect --format '{{.State.Running}}' "$container")" != "true" ]; then
+                docker logs "$container" >&2
+                docker rm --force "$container" > /dev/null
+                echo "Container for ${target} exited before startup completed" >&2
+                exit 1
+            fi
+            seconds=$(docker logs "$container" 2>&1 | sed -n 's/.*Started ApiApplication in \([0-9.]*\) seconds.*/\1/p')
+            [ -n "$seconds" ] || sleep 0.2
+        done
+
+        docker rm --force "$container" > /dev/null
+        echo "${target} run ${i}: ${seconds}s"
+        total=$(echo "$total + $seconds" | bc)
+        i=$((i + 1))
+    done
+
+    echo "${target} average: $(echo "scale=3; $total / $RUNS" | bc)s"
+}
+
+measure runtime
+measure fast-start
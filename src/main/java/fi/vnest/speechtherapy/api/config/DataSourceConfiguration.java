@@ -0,0 +1,65 @@
+package fi.vnest.speechtherapy.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Splits the connection pool into a patient pool, an admin pool and a background pool, so admin requests can never
+ * take the connections that therapy sessions need, and background writers (e.g. the attempts of patient
+ * validations) are not starved by admin bursts. All pools use the spring.datasource.hikari settings,
+ * overridden per pool by vnest.datasource.patient.*, vnest.datasource.admin.* and vnest.datasource.background.*.
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource patientDataSource(DataSourceProperties properties, Environment environment) {
+        return createPool(properties, environment, Workload.PATIENT);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource adminDataSource(DataSourceProperties properties, Environment environment) {
+        return createPool(properties, environment, Workload.ADMIN);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource backgroundDataSource(DataSourceProperties properties, Environment environment) {
+        return createPool(properties, environment, Workload.BACKGROUND);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource patientDataSource,
+            HikariDataSource adminDataSource,
+            HikariDataSource backgroundDataSource) {
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        dataSource.setTargetDataSources(Map.of(
+                Workload.PATIENT, patientDataSource,
+                Workload.ADMIN, adminDataSource,
+                Workload.BACKGROUND, backgroundDataSource
+        ));
+        dataSource.setDefaultTargetDataSource(backgroundDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties, Environment environment, Workload workload) {
+        String name = workload.name().toLowerCase();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(name);
+
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind("vnest.datasource." + name, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package fi.vnest.speechtherapy.api.config;
+
+import fi.vnest.speechtherapy.api.web.Deadline;
+import fi.vnest.speechtherapy.api.web.DeadlineExceededException;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Limits the timeout of each transaction to the time left until the request deadline.
+ * Hibernate and JdbcTemplate apply the transaction timeout to every JDBC statement, so a slow query
+ * is cancelled instead of holding its connection after the client has given up.
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+
+        long remainingMillis = deadline.remaining().toMillis();
+        if (remainingMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before the transaction started");
+        }
+
+        // Timeouts are whole seconds, round up so a short remaining budget does not become "no timeout"
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
@@ -0,0 +1,48 @@
+package fi.vnest.speechtherapy.api.config;
+
+import fi.vnest.speechtherapy.api.web.ConcurrencyLimitInterceptor;
+import fi.vnest.speechtherapy.api.web.DeadlineInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Registers the interceptors in front of the API controllers and the handler for the admin console assets.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final DeadlineInterceptor deadlineInterceptor;
+
+    @Autowired
+    public WebConfiguration(ConcurrencyLimitInterceptor concurrencyLimitInterceptor, DeadlineInterceptor deadlineInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.deadlineInterceptor = deadlineInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Console assets have content-hashed names (see fingerprintWebAssets in build.gradle), so they never change
+     * under the same URL and can be cached for a year. The precompressed .br or .gz variant is served when accepted.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
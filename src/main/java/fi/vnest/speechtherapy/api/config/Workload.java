@@ -0,0 +1,29 @@
+package fi.vnest.speechtherapy.api.config;
+
+/**
+ * Class of work a thread is doing, used to keep patient-facing requests, admin requests and background work on
+ * separate request slots and connection pools. Threads that are not serving a request count as background work.
+ */
+public enum Workload {
+    /** Exercise suggestions and sentence validation during therapy sessions. */
+    PATIENT,
+    /** Catalog management and reporting requests. */
+    ADMIN,
+    /** Attempt writes, statistics flushes, cache refreshes, snapshot rebuilds and batch jobs. */
+    BACKGROUND;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : BACKGROUND;
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
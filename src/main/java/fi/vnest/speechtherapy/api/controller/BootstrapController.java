@@ -0,0 +1,33 @@
+package fi.vnest.speechtherapy.api.controller;
+
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.dto.BootstrapResponse;
+import fi.vnest.speechtherapy.api.service.WordService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the initial data of the admin console.
+ */
+@RestController
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+
+    private final WordService wordService;
+
+    @Autowired
+    public BootstrapController(WordService wordService) {
+        this.wordService = wordService;
+    }
+
+    /**
+     * GET /api/bootstrap - Get all words grouped by type and the combination count of each verb.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<BootstrapResponse>> getBootstrap() {
+        return ResponseEntity.ok(new ApiResponse<>(true, wordService.getBootstrap()));
+    }
+}
@@ -0,0 +1,37 @@
+package fi.vnest.speechtherapy.api.controller;
+
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.service.Cached;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Builds responses for reads served through a StaleCache.
+ */
+final class CachedResponses {
+
+    /** Set to "true" when the data is the last known good copy because the database could not be reached. */
+    static final String STALE_HEADER = "X-Data-Stale";
+
+    private CachedResponses() {
+    }
+
+    /**
+     * 200 OK with the cached value. Stale values are marked with X-Data-Stale and their Age in seconds.
+     */
+    static <T> ResponseEntity<ApiResponse<T>> ok(Cached<T> cached) {
+        return okBuilder(cached).body(new ApiResponse<>(true, cached.value()));
+    }
+
+    /**
+     * 200 OK builder with the stale headers of the cached value, for bodies built by the caller.
+     */
+    static ResponseEntity.BodyBuilder okBuilder(Cached<?> cached) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (cached.stale()) {
+            builder.header(STALE_HEADER, "true")
+                    .header(HttpHeaders.AGE, String.valueOf(cached.age().toSeconds()));
+        }
+        return builder;
+    }
+}
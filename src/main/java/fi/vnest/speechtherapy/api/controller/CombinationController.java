@@ -2,14 +2,18 @@ package fi.vnest.speechtherapy.api.controller;
 
 import fi.vnest.speechtherapy.api.dto.*;
 import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import fi.vnest.speechtherapy.api.service.CombinationBatchJobService;
 import fi.vnest.speechtherapy.api.service.CombinationService;
+import fi.vnest.speechtherapy.api.web.RequestDeadline;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -20,17 +24,22 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/combinations")
 public class CombinationController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CombinationService combinationService;
+    private final CombinationBatchJobService batchJobService;
 
     @Autowired
-    public CombinationController(CombinationService combinationService) {
+    public CombinationController(CombinationService combinationService, CombinationBatchJobService batchJobService) {
         this.combinationService = combinationService;
+        this.batchJobService = batchJobService;
     }
 
     /**
      * GET /api/combinations - Get all combinations, optionally filtered by verb ID.
+     * Requests with a page, a page size or any other filter are served by getCombinationsPage.
      */
-    @GetMapping
+    @GetMapping(params = {"!page", "!size", "!after", "!subject_id", "!object_id", "!q"})
     public ResponseEntity<ApiResponse<List<CombinationResponse>>> getAllCombinations(
             @RequestParam(required = false) Long verb_id) {
 
@@ -42,6 +51,29 @@ public class CombinationController {
         return ResponseEntity.ok(new ApiResponse<>(true, responseData));
     }
 
+    /**
+     * GET /api/combinations?page=0&size=100&verb_id=&subject_id=&object_id=&q=traktori - Get one page of
+     * combinations ordered by ID, matching all given filters. q matches combinations whose sentence contains
+     * every word of it, ignoring case.
+     * When fetching pages in order, after (the ID of the last combination of the previous page) lets the page be
+     * read without skipping an offset; it is ignored for subject, object and text filters.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<PageResponse<CombinationResponse>>> getCombinationsPage(
+            @RequestParam(required = false) Long verb_id,
+            @RequestParam(required = false) Long subject_id,
+            @RequestParam(required = false) Long object_id,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) Long after) {
+
+        CombinationFilter filter = new CombinationFilter(verb_id, subject_id, object_id, q);
+        int cappedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Page<AllowedCombination> combinations = combinationService.findPage(filter, Math.max(page, 0), cappedSize, after);
+        return ResponseEntity.ok(new ApiResponse<>(true, PageResponse.fromPage(combinations, CombinationResponse::fromEntity)));
+    }
+
     /**
      * POST /api/combinations - Create one combinations
      */
@@ -54,9 +86,19 @@ public class CombinationController {
 
     /**
      * POST /api/combinations - Create multiple combinations for a verb
+     * With dry_run=true nothing is written; the response counts the new and existing combinations instead.
      */
     @PostMapping("/batch")
-    public ResponseEntity<ApiResponse<?>> createCombinationsBatch(@RequestBody @Valid CombinationBatchRequest batchRequest) {
+    @RequestDeadline("${vnest.deadline.combinations-batch:30s}")
+    public ResponseEntity<ApiResponse<?>> createCombinationsBatch(
+            @RequestBody @Valid CombinationBatchRequest batchRequest,
+            @RequestParam(defaultValue = "false") boolean dry_run) {
+
+        if (dry_run) {
+            CombinationBatchPreview preview = combinationService.previewCombinationsBatch(batchRequest);
+            return ResponseEntity.ok(new ApiResponse<>(true, preview));
+        }
+
         List<AllowedCombination> createdCombinations = combinationService.createCombinationsBatch(batchRequest);
         List<CombinationResponse> responseList = createdCombinations.stream()
                 .map(CombinationResponse::fromEntity)
@@ -70,6 +112,43 @@ public class CombinationController {
         return new ResponseEntity<>(new ApiResponse<>(true, bulkResponse), HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/combinations/batch/jobs - Start creating multiple combinations for a verb in the background.
+     */
+    @PostMapping("/batch/jobs")
+    public ResponseEntity<ApiResponse<BatchJobResponse>> submitBatchJob(@RequestBody @Valid CombinationBatchRequest batchRequest) {
+        BatchJobResponse job = batchJobService.submit(batchRequest);
+        return new ResponseEntity<>(new ApiResponse<>(true, job), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * GET /api/combinations/batch/jobs/:job_id - Get the progress of a batch job.
+     */
+    @GetMapping("/batch/jobs/{job_id}")
+    public ResponseEntity<ApiResponse<BatchJobResponse>> getBatchJob(@PathVariable UUID job_id) {
+        return ResponseEntity.ok(new ApiResponse<>(true, batchJobService.getJob(job_id)));
+    }
+
+    /**
+     * DELETE /api/combinations/batch/jobs/:job_id - Cancel a batch job after its current chunk.
+     */
+    @DeleteMapping("/batch/jobs/{job_id}")
+    public ResponseEntity<ApiResponse<BatchJobResponse>> cancelBatchJob(@PathVariable UUID job_id) {
+        return ResponseEntity.ok(new ApiResponse<>(true, batchJobService.cancelJob(job_id)));
+    }
+
+    /**
+     * POST /api/combinations/by-verb/:verb_id/clone?target_verb_id= - Copy all combinations of a verb to another verb.
+     */
+    @PostMapping("/by-verb/{verb_id}/clone")
+    public ResponseEntity<ApiResponse<CombinationCloneResponse>> cloneCombinations(
+            @PathVariable Long verb_id,
+            @RequestParam Long target_verb_id) {
+
+        int created = combinationService.cloneCombinations(verb_id, target_verb_id);
+        return new ResponseEntity<>(new ApiResponse<>(true, new CombinationCloneResponse(created)), HttpStatus.CREATED);
+    }
+
     /**
      * DELETE /api/combinations/:id - Delete a specific combination.
      */
@@ -80,13 +159,39 @@ public class CombinationController {
         return new ResponseEntity<>(new ApiResponse<>(true, null), HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * DELETE /api/combinations?ids=1,2,3 - Delete multiple combinations in a single statement.
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<DeleteResponse>> deleteCombinations(@RequestParam List<Long> ids) {
+        int deleted = combinationService.deleteCombinations(ids);
+        return ResponseEntity.ok(new ApiResponse<>(true, new DeleteResponse(deleted)));
+    }
+
     /**
      * DELETE /api/combinations/by-verb/:verb_id - Delete all combinations for a specific verb.
      */
     @DeleteMapping("/by-verb/{verb_id}")
-    public ResponseEntity<ApiResponse<Void>> deleteCombinationsByVerb(@PathVariable Long verb_id) {
-        combinationService.deleteCombinationsByVerb(verb_id);
-        // Return 204 No Content for successful deletion
-        return new ResponseEntity<>(new ApiResponse<>(true, null), HttpStatus.NO_CONTENT);
+    public ResponseEntity<ApiResponse<DeleteResponse>> deleteCombinationsByVerb(@PathVariable Long verb_id) {
+        int deleted = combinationService.deleteCombinationsByVerb(verb_id);
+        return ResponseEntity.ok(new ApiResponse<>(true, new DeleteResponse(deleted)));
+    }
+
+    /**
+     * DELETE /api/combinations/by-subject/:subject_id - Delete all combinations for a specific subject.
+     */
+    @DeleteMapping("/by-subject/{subject_id}")
+    public ResponseEntity<ApiResponse<DeleteResponse>> deleteCombinationsBySubject(@PathVariable Long subject_id) {
+        int deleted = combinationService.deleteCombinationsBySubject(subject_id);
+        return ResponseEntity.ok(new ApiResponse<>(true, new DeleteResponse(deleted)));
+    }
+
+    /**
+     * DELETE /api/combinations/by-object/:object_id - Delete all combinations for a specific object.
+     */
+    @DeleteMapping("/by-object/{object_id}")
+    public ResponseEntity<ApiResponse<DeleteResponse>> deleteCombinationsByObject(@PathVariable Long object_id) {
+        int deleted = combinationService.deleteCombinationsByObject(object_id);
+        return ResponseEntity.ok(new ApiResponse<>(true, new DeleteResponse(deleted)));
     }
 }
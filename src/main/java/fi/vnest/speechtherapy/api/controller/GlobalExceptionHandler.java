@@ -1,15 +1,21 @@
 package fi.vnest.speechtherapy.api.controller;
 
 import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.web.OverloadedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -53,4 +59,45 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<String>> handleNotFound(NoSuchElementException ex) {
         return new ResponseEntity<>(new ApiResponse<>(false, ex.getMessage()), HttpStatus.NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles unique constraint violations (e.g., creating a word that already exists with the same normalized text and type).
+     * Returns 409 Conflict.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        String detail = "Request conflicts with existing data. Error: " + ex.getMostSpecificCause().getMessage();
+        return new ResponseEntity<>(new ApiResponse<>(false, detail), HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles work rejected by a full executor (e.g., too many queued batch jobs).
+     * Returns 503 Service Unavailable.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<String>> handleRejectedExecution(RejectedExecutionException ex) {
+        String detail = "Server is busy, please try again later.";
+        return new ResponseEntity<>(new ApiResponse<>(false, detail), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles requests shed by the concurrency limiter.
+     * Returns 503 Service Unavailable with a Retry-After header.
+     */
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handleOverloaded(OverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(new ApiResponse<>(false, ex.getMessage()));
+    }
+
+    /**
+     * Handles statements and transactions cancelled by the request deadline.
+     * Returns 504 Gateway Timeout.
+     */
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class})
+    public ResponseEntity<ApiResponse<String>> handleTimeout(RuntimeException ex) {
+        String detail = "Request did not complete within its time budget, please try again later.";
+        return new ResponseEntity<>(new ApiResponse<>(false, detail), HttpStatus.GATEWAY_TIMEOUT);
+    }
+}
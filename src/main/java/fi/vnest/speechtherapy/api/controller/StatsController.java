@@ -0,0 +1,53 @@
+package fi.vnest.speechtherapy.api.controller;
+
+import fi.vnest.speechtherapy.api.dto.AccuracyStatsResponse;
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.service.AttemptStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for patient progress and verb difficulty statistics.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private static final int MAX_DAYS = 365;
+
+    private final AttemptStatistics attemptStatistics;
+
+    @Autowired
+    public StatsController(AttemptStatistics attemptStatistics) {
+        this.attemptStatistics = attemptStatistics;
+    }
+
+    /**
+     * GET /api/stats/patients/:patient_id?days=30 - Get validation accuracy of a patient per day.
+     */
+    @GetMapping("/patients/{patient_id}")
+    public ResponseEntity<ApiResponse<AccuracyStatsResponse>> getPatientStats(
+            @PathVariable String patient_id,
+            @RequestParam(defaultValue = "30") int days) {
+
+        AccuracyStatsResponse stats = attemptStatistics.patientStats(patient_id, cap(days));
+        return ResponseEntity.ok(new ApiResponse<>(true, stats));
+    }
+
+    /**
+     * GET /api/stats/verbs/:verb_id?days=30 - Get validation accuracy of a verb per day.
+     */
+    @GetMapping("/verbs/{verb_id}")
+    public ResponseEntity<ApiResponse<AccuracyStatsResponse>> getVerbStats(
+            @PathVariable Long verb_id,
+            @RequestParam(defaultValue = "30") int days) {
+
+        AccuracyStatsResponse stats = attemptStatistics.verbStats(verb_id, cap(days));
+        return ResponseEntity.ok(new ApiResponse<>(true, stats));
+    }
+
+    private static int cap(int days) {
+        return Math.max(1, Math.min(days, MAX_DAYS));
+    }
+}
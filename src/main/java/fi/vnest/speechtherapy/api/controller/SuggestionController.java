@@ -4,12 +4,18 @@ import fi.vnest.speechtherapy.api.dto.ApiResponse;
 import fi.vnest.speechtherapy.api.dto.SuggestionResponse;
 import fi.vnest.speechtherapy.api.dto.ValidationRequest;
 import fi.vnest.speechtherapy.api.dto.ValidationResponse;
+import fi.vnest.speechtherapy.api.dto.VerbSuggestion;
+import fi.vnest.speechtherapy.api.dto.WordReference;
+import fi.vnest.speechtherapy.api.service.Cached;
 import fi.vnest.speechtherapy.api.service.CombinationService;
+import fi.vnest.speechtherapy.api.web.RequestDeadline;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for managing Exercise Suggestions and Sentence Validation.
  */
@@ -26,21 +32,60 @@ public class SuggestionController {
 
     /**
      * GET /api/suggestions - Get exercise data for frontend.
+     * Served from memory; marked with X-Data-Stale while the database is unavailable.
      */
     @GetMapping
+    @RequestDeadline("${vnest.deadline.suggestions:2s}")
     public ResponseEntity<ApiResponse<SuggestionResponse>> getSuggestions(
             @RequestParam(required = false) String difficulty, // Future feature
             @RequestParam(required = false) Integer limit) {
 
         // Note: Difficulty is currently ignored as per requirements, but included in signature for completeness.
-        SuggestionResponse suggestions = combinationService.getExerciseSuggestions(limit);
-        return ResponseEntity.ok(new ApiResponse<>(true, suggestions));
+        Cached<SuggestionResponse> suggestions = combinationService.getExerciseSuggestions(limit);
+        return CachedResponses.ok(suggestions);
+    }
+
+    /**
+     * GET /api/suggestions/verbs/:verb_id - Get compatible subjects and objects of a single verb.
+     */
+    @GetMapping("/verbs/{verb_id}")
+    @RequestDeadline("${vnest.deadline.suggestions:2s}")
+    public ResponseEntity<ApiResponse<VerbSuggestion>> getVerbSuggestion(@PathVariable Long verb_id) {
+        Cached<VerbSuggestion> suggestion = combinationService.getVerbSuggestion(verb_id);
+        return CachedResponses.ok(suggestion);
+    }
+
+    /**
+     * GET /api/suggestions/verbs?subject_id=&object_id= - Get the verbs allowed between a subject and an object.
+     */
+    @GetMapping("/verbs")
+    @RequestDeadline("${vnest.deadline.suggestions:2s}")
+    public ResponseEntity<ApiResponse<List<WordReference>>> getCompatibleVerbs(
+            @RequestParam Long subject_id,
+            @RequestParam Long object_id) {
+
+        List<WordReference> verbs = combinationService.getCompatibleVerbs(subject_id, object_id);
+        return ResponseEntity.ok(new ApiResponse<>(true, verbs));
+    }
+
+    /**
+     * GET /api/suggestions/objects?subject_id=&verb_id= - Get the objects allowed after a subject and a verb.
+     */
+    @GetMapping("/objects")
+    @RequestDeadline("${vnest.deadline.suggestions:2s}")
+    public ResponseEntity<ApiResponse<List<WordReference>>> getCompatibleObjects(
+            @RequestParam Long subject_id,
+            @RequestParam Long verb_id) {
+
+        List<WordReference> objects = combinationService.getCompatibleObjects(subject_id, verb_id);
+        return ResponseEntity.ok(new ApiResponse<>(true, objects));
     }
 
     /**
      * POST /api/suggestions/validate - Validate a user-formed sentence.
      */
     @PostMapping("/validate")
+    @RequestDeadline("${vnest.deadline.validate:1s}")
     public ResponseEntity<ApiResponse<ValidationResponse>> validateCombination(
             @Valid @RequestBody ValidationRequest request) {
 
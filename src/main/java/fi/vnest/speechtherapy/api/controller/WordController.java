@@ -1,44 +1,97 @@
 package fi.vnest.speechtherapy.api.controller;
 
 import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.dto.PageResponse;
+import fi.vnest.speechtherapy.api.dto.WordBulkRequest;
+import fi.vnest.speechtherapy.api.dto.WordBulkResponse;
 import fi.vnest.speechtherapy.api.dto.WordRequest;
 import fi.vnest.speechtherapy.api.dto.WordResponse;
+import fi.vnest.speechtherapy.api.dto.WordSearchResult;
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.service.Cached;
+import fi.vnest.speechtherapy.api.service.WordSearchIndex;
 import fi.vnest.speechtherapy.api.service.WordService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/words")
 public class WordController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final WordService wordService;
+    private final WordSearchIndex wordSearchIndex;
+    private final WordListResponseCache wordListResponseCache;
 
     @Autowired
-    public WordController(WordService wordService) {
+    public WordController(
+            WordService wordService,
+            WordSearchIndex wordSearchIndex,
+            WordListResponseCache wordListResponseCache) {
         this.wordService = wordService;
+        this.wordSearchIndex = wordSearchIndex;
+        this.wordListResponseCache = wordListResponseCache;
     }
 
     /**
      * GET /api/words - Get all words, optionally filtered by type.
+     * Served from pre-serialized JSON (gzipped if the client accepts it); marked with X-Data-Stale while the
+     * database is unavailable.
      */
     @GetMapping()
-    public ResponseEntity<ApiResponse<List<WordResponse>>> getAllWords(
-            @RequestParam(required = false) WordType type) {
+    public ResponseEntity<byte[]> getAllWords(
+            @RequestParam(required = false) WordType type,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        Cached<WordListResponseCache.Body> cached = wordListResponseCache.get(type);
+        WordListResponseCache.Body body = cached.value();
+
+        ResponseEntity.BodyBuilder response = CachedResponses.okBuilder(cached)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (body.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    /**
+     * GET /api/words?page=0&size=100 - Get one page of words ordered by ID, optionally filtered by type.
+     */
+    @GetMapping(params = "page")
+    public ResponseEntity<ApiResponse<PageResponse<WordResponse>>> getWordsPage(
+            @RequestParam(required = false) WordType type,
+            @RequestParam int page,
+            @RequestParam(defaultValue = "100") int size) {
 
-        List<Word> words = wordService.findAll(type);
+        Page<Word> words = wordService.findPage(type, Math.max(page, 0), capPageSize(size));
+        return ResponseEntity.ok(new ApiResponse<>(true, PageResponse.fromPage(words, WordResponse::fromEntity)));
+    }
 
-        List<WordResponse> responseData = words.stream()
-                .map(WordResponse::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * GET /api/words/search?q=kis - Autocomplete words by prefix, ignoring case and tolerating small typos.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<WordSearchResult>>> searchWords(
+            @RequestParam String q,
+            @RequestParam(required = false) WordType type,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<WordSearchResult> responseData = wordSearchIndex.search(q, type, cappedLimit);
 
         return ResponseEntity.ok(new ApiResponse<>(true, responseData));
     }
@@ -56,6 +109,17 @@ public class WordController {
         return new ResponseEntity<>(new ApiResponse<>(true, responseData), HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/words/bulk - Create or patch many words, deduplicated by normalized text and type.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<WordBulkResponse>> upsertWords(
+            @Valid @RequestBody WordBulkRequest request) {
+
+        WordBulkResponse responseData = wordService.upsertWords(request.getWords());
+        return ResponseEntity.ok(new ApiResponse<>(true, responseData));
+    }
+
     /**
      * PUT /api/words/:id - Update an existing word.
      */
@@ -88,4 +152,36 @@ public class WordController {
         }
     }
 
+    private static int capPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * True if the Accept-Encoding header lists gzip (or *) without q=0.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.matches("q=0(\\.0{0,3})?")) {
+                    rejected = true;
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,91 @@
+package fi.vnest.speechtherapy.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.dto.WordResponse;
+import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.service.Cached;
+import fi.vnest.speechtherapy.api.service.WordService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of the GET /api/words responses, one per word type.
+ *
+ * A body is kept for as long as WordService serves the same cached word list, so it is rebuilt after word writes
+ * (which reload the list) and otherwise served as a byte copy. Bodies of at least vnest.words.gzip-min-size bytes
+ * are also kept gzipped for clients that accept it.
+ */
+@Component
+class WordListResponseCache {
+
+    private static final Object ALL_TYPES = new Object();
+
+    private final WordService wordService;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinSize;
+    private final ConcurrentMap<Object, Body> bodies = new ConcurrentHashMap<>();
+
+    @Autowired
+    WordListResponseCache(
+            WordService wordService,
+            ObjectMapper objectMapper,
+            @Value("${vnest.words.gzip-min-size:1024}") int gzipMinSize) {
+        this.wordService = wordService;
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /**
+     * Returns the serialized response for the type (null for all words), marked stale like the word list it was built from.
+     */
+    Cached<Body> get(WordType type) {
+        Cached<List<WordResponse>> words = wordService.findAll(type);
+        Object key = type != null ? type : ALL_TYPES;
+
+        Body body = bodies.get(key);
+        if (body == null || body.source() != words.value()) {
+            body = serialize(words.value());
+            bodies.put(key, body);
+        }
+
+        return new Cached<>(body, words.stale(), words.loadedAt());
+    }
+
+    private Body serialize(List<WordResponse> words) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new ApiResponse<>(true, words));
+            byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+            return new Body(words, json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize word list", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param source The word list the body was built from, compared by identity.
+     * @param gzip The gzipped JSON, or null if the JSON is too small to be worth compressing.
+     */
+    record Body(List<WordResponse> source, byte[] json, byte[] gzip) {
+    }
+}
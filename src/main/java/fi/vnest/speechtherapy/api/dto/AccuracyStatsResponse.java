@@ -0,0 +1,23 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the response of GET /api/stats/..., containing totals and per-day outcomes of the requested period.
+ * Days without attempts are omitted.
+ */
+public record AccuracyStatsResponse(
+        long attempts,
+        long correct,
+        double accuracy,
+        List<DailyAccuracy> days
+) {
+
+    public static AccuracyStatsResponse fromDays(List<DailyAccuracy> days) {
+        long attempts = days.stream().mapToLong(DailyAccuracy::attempts).sum();
+        long correct = days.stream().mapToLong(DailyAccuracy::correct).sum();
+        double accuracy = attempts > 0 ? (double) correct / attempts : 0.0;
+
+        return new AccuracyStatsResponse(attempts, correct, accuracy, days);
+    }
+}
@@ -0,0 +1,44 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO for the state of an asynchronous combination batch job.
+ * Skipped pairs either already existed or referenced an unknown word.
+ */
+public record BatchJobResponse(
+        @JsonProperty("job_id")
+        UUID jobId,
+
+        Status status,
+
+        @JsonProperty("total_pairs")
+        long totalPairs,
+
+        @JsonProperty("processed_pairs")
+        long processedPairs,
+
+        long created,
+
+        long skipped,
+
+        String error,
+
+        @JsonProperty("submitted_at")
+        Instant submittedAt,
+
+        @JsonProperty("finished_at")
+        Instant finishedAt
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,20 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import fi.vnest.speechtherapy.api.model.WordType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the response of GET /api/bootstrap, containing everything the admin console needs on a tab switch.
+ * Every word type is present in words, possibly with an empty list; verbs without combinations are omitted from
+ * the counts.
+ */
+public record BootstrapResponse(
+        Map<WordType, List<WordResponse>> words,
+
+        @JsonProperty("combination_counts")
+        Map<Long, Integer> combinationCounts
+) {
+}
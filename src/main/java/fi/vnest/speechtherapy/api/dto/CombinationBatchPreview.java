@@ -0,0 +1,16 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * DTO for responding to a dry run of the bulk combination creation request.
+ * Counts the combinations the request would create and the ones that already exist; unknown word IDs are skipped.
+ */
+public record CombinationBatchPreview(
+        @JsonProperty("new_count") long newCount,
+        @JsonProperty("existing_count") long existingCount,
+        @JsonProperty("invalid_subject_ids") List<Long> invalidSubjectIds,
+        @JsonProperty("invalid_object_ids") List<Long> invalidObjectIds
+) {}
@@ -0,0 +1,9 @@
+package fi.vnest.speechtherapy.api.dto;
+
+/**
+ * DTO for responding to the clone request with the number of combinations created for the target verb.
+ */
+public record CombinationCloneResponse(
+        int created
+) {
+}
@@ -0,0 +1,29 @@
+package fi.vnest.speechtherapy.api.dto;
+
+/**
+ * Filters of GET /api/combinations. Null fields do not filter.
+ *
+ * @param text Text the sentence must contain, e.g. "traktori".
+ */
+public record CombinationFilter(
+        Long verbId,
+        Long subjectId,
+        Long objectId,
+        String text
+) {
+
+    public static CombinationFilter none() {
+        return new CombinationFilter(null, null, null, null);
+    }
+
+    public static CombinationFilter byVerb(Long verbId) {
+        return new CombinationFilter(verbId, null, null, null);
+    }
+
+    /**
+     * True if the filter is at most a verb ID, whose counts are available from the per-verb summaries.
+     */
+    public boolean isVerbOnly() {
+        return subjectId == null && objectId == null && (text == null || text.isBlank());
+    }
+}
@@ -0,0 +1,13 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the validation outcomes of a single day (UTC).
+ */
+public record DailyAccuracy(
+        LocalDate day,
+        long attempts,
+        long correct
+) {
+}
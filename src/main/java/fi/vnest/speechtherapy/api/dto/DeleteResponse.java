@@ -0,0 +1,9 @@
+package fi.vnest.speechtherapy.api.dto;
+
+/**
+ * DTO for responding to bulk delete requests with the number of deleted rows.
+ */
+public record DeleteResponse(
+        int deleted
+) {
+}
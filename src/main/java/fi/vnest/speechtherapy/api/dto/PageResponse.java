@@ -0,0 +1,35 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DTO for one page of a paginated list (e.g. GET /api/words?page=0&size=100).
+ * Pages are numbered from 0.
+ */
+public record PageResponse<T>(
+        List<T> items,
+
+        int page,
+
+        int size,
+
+        @JsonProperty("total_items")
+        long totalItems,
+
+        @JsonProperty("total_pages")
+        int totalPages
+) {
+
+    public static <E, T> PageResponse<T> fromPage(Page<E> page, Function<E, T> mapper) {
+        List<T> items = page.getContent().stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+
+        return new PageResponse<>(items, page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
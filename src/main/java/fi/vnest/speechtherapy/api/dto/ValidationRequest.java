@@ -2,10 +2,12 @@ package fi.vnest.speechtherapy.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 /**
  * DTO for POST /api/suggestions/validate. Identical structure to CombinationRequest,
  * but defined separately for clarity of purpose.
+ * The optional patient and session IDs are only used to record the attempt.
  */
 public record ValidationRequest(
         @NotNull(message = "Subject ID is required")
@@ -18,6 +20,18 @@ public record ValidationRequest(
 
         @NotNull(message = "Object ID is required")
         @JsonProperty("object_id")
-        Long objectId
+        Long objectId,
+
+        @Size(max = 64, message = "Patient ID must be at most 64 characters")
+        @JsonProperty("patient_id")
+        String patientId,
+
+        @Size(max = 64, message = "Session ID must be at most 64 characters")
+        @JsonProperty("session_id")
+        String sessionId
 ) {
+
+    public ValidationRequest(Long subjectId, Long verbId, Long objectId) {
+        this(subjectId, verbId, objectId, null, null);
+    }
 }
@@ -0,0 +1,21 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import fi.vnest.speechtherapy.api.model.WordType;
+
+/**
+ * DTO mapping one requested word (by its index in the request) to the ID of the stored word.
+ * Requests that normalize to the same text and type map to the same ID.
+ */
+public record WordBulkMapping(
+        int index,
+        Long id,
+        String text,
+        WordType type,
+        Status status
+) {
+    public enum Status {
+        CREATED,
+        UPDATED,
+        UNCHANGED
+    }
+}
@@ -0,0 +1,26 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for creating or patching many Word entities via POST /api/words/bulk.
+ */
+public class WordBulkRequest {
+
+    @NotEmpty(message = "At least one word is required")
+    @Size(max = 5000, message = "At most 5000 words can be sent in one request")
+    @Valid
+    private List<WordRequest> words;
+
+    public List<WordRequest> getWords() {
+        return words;
+    }
+
+    public void setWords(List<WordRequest> words) {
+        this.words = words;
+    }
+}
@@ -0,0 +1,15 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import java.util.List;
+
+/**
+ * DTO for responding to the bulk word request.
+ * Contains one mapping per requested word, in request order.
+ */
+public record WordBulkResponse(
+        int created,
+        int updated,
+        int unchanged,
+        List<WordBulkMapping> words
+) {
+}
@@ -0,0 +1,15 @@
+package fi.vnest.speechtherapy.api.dto;
+
+import fi.vnest.speechtherapy.api.model.WordType;
+
+/**
+ * DTO for a single hit of GET /api/words/search.
+ * Distance is the number of typos between the query and the matched word prefix (0 for an exact prefix match).
+ */
+public record WordSearchResult(
+        Long id,
+        String text,
+        WordType type,
+        int distance
+) {
+}
@@ -4,12 +4,15 @@ import jakarta.persistence.*;
 
 import java.time.Instant;
 
+/**
+ * The table is hash-partitioned by verb_id (see V7 migration), so queries that filter by verb read a single partition.
+ */
 @Entity
 @Table(name = "allowed_combination", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"subject_id", "verb_id", "object_id"})
+        @UniqueConstraint(name = "uq_allowed_combination", columnNames = {"verb_id", "subject_id", "object_id"})
 }, indexes = {
-        @Index(name = "idx_combination_subject", columnList = "subject_id"),
-        @Index(name = "idx_combination_verb", columnList = "verb_id"),
+        @Index(name = "idx_combination_subject_object_verb", columnList = "subject_id, object_id, verb_id"),
+        @Index(name = "idx_combination_subject_verb_object", columnList = "subject_id, verb_id, object_id"),
         @Index(name = "idx_combination_object", columnList = "object_id")
 })
 public class AllowedCombination {
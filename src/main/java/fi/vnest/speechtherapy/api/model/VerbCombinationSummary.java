@@ -0,0 +1,74 @@
+package fi.vnest.speechtherapy.api.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.List;
+
+/**
+ * Read-only aggregate of all combinations of one verb.
+ * Maintained by database triggers on allowed_combination (see the V4 and V11 migrations), never written by the application.
+ */
+@Entity
+@Immutable
+@Table(name = "verb_combination_summary")
+public class VerbCombinationSummary {
+
+    @Id
+    @Column(name = "verb_id")
+    private Long verbId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "verb_id", insertable = false, updatable = false)
+    private Word verb;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "subject_ids", nullable = false)
+    private Long[] subjectIds;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "object_ids", nullable = false)
+    private Long[] objectIds;
+
+    @Column(name = "combination_count", nullable = false)
+    private int combinationCount;
+
+    protected VerbCombinationSummary() {
+    }
+
+    public VerbCombinationSummary(Word verb, List<Long> subjectIds, List<Long> objectIds, int combinationCount) {
+        this.verbId = verb.getId();
+        this.verb = verb;
+        this.subjectIds = subjectIds.toArray(Long[]::new);
+        this.objectIds = objectIds.toArray(Long[]::new);
+        this.combinationCount = combinationCount;
+    }
+
+    public Long getVerbId() {
+        return verbId;
+    }
+
+    public Word getVerb() {
+        return verb;
+    }
+
+    /**
+     * IDs of all subjects combined with this verb, in ascending order.
+     */
+    public List<Long> getSubjectIds() {
+        return List.of(subjectIds);
+    }
+
+    /**
+     * IDs of all objects combined with this verb, in ascending order.
+     */
+    public List<Long> getObjectIds() {
+        return List.of(objectIds);
+    }
+
+    public int getCombinationCount() {
+        return combinationCount;
+    }
+}
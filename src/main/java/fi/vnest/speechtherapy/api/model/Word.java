@@ -2,23 +2,34 @@ package fi.vnest.speechtherapy.api.model;
 
 import jakarta.persistence.*;
 
+import java.text.Normalizer;
 import java.time.Instant;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "word", indexes = {
+@Table(name = "word", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_word_normalized_text_type", columnNames = {"normalized_text", "type"})
+}, indexes = {
         @Index(name = "idx_word_type", columnList = "type"),
         @Index(name = "idx_word_text", columnList = "text")
 })
 public class Word {
 
+    private static final Locale FINNISH = Locale.forLanguageTag("fi");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "word_seq")
-    @SequenceGenerator(name = "word_seq", sequenceName = "word_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "word_seq", sequenceName = "word_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
     private String text;
 
+    @Column(name = "normalized_text", nullable = false, length = 255)
+    private String normalizedText;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private WordType type;
@@ -33,10 +44,24 @@ public class Word {
     }
 
     public Word(String text, WordType type) {
-        this.text = text;
+        setText(text);
         this.type = type;
     }
 
+    /**
+     * Normalizes word text for duplicate detection: "Kissa" and "kissa " normalize to the same value.
+     * The V2 migration backfills existing words with the same rules in SQL; changing the rules needs a migration
+     * that recomputes normalized_text.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+        return WHITESPACE.matcher(composed).replaceAll(" ").toLowerCase(FINNISH);
+    }
+
     public Long getId() {
         return id;
     }
@@ -51,6 +76,11 @@ public class Word {
 
     public void setText(String text) {
         this.text = text;
+        this.normalizedText = normalize(text);
+    }
+
+    public String getNormalizedText() {
+        return normalizedText;
     }
 
     public WordType getType() {
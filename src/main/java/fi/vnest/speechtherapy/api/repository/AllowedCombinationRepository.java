@@ -1,21 +1,64 @@
 package fi.vnest.speechtherapy.api.repository;
 
 import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AllowedCombinationRepository extends JpaRepository<AllowedCombination, Long> {
+public interface AllowedCombinationRepository
+        extends JpaRepository<AllowedCombination, Long>, JpaSpecificationExecutor<AllowedCombination> {
 
     /**
      * Finds combinations by a specific verb ID.
      */
     List<AllowedCombination> findByVerbId(Long verbId);
 
+    /**
+     * Finds one page of combinations with their words, without counting them.
+     */
+    @EntityGraph(attributePaths = {"subject", "verb", "object"})
+    @Query("SELECT c FROM AllowedCombination c")
+    List<AllowedCombination> findPage(Pageable pageable);
+
+    /**
+     * Finds one page of the combinations of a verb with their words, without counting them.
+     */
+    @EntityGraph(attributePaths = {"subject", "verb", "object"})
+    List<AllowedCombination> findByVerbId(Long verbId, Pageable pageable);
+
+    /**
+     * Finds the next page of combinations after the given ID with their words (keyset pagination).
+     * Each partition reads from its primary key index right after the ID instead of skipping an offset.
+     */
+    @EntityGraph(attributePaths = {"subject", "verb", "object"})
+    List<AllowedCombination> findByIdGreaterThan(Long afterId, Pageable pageable);
+
+    /**
+     * Finds the next page of the combinations of a verb after the given ID with their words (keyset pagination).
+     * Served by the (verb_id, id) index from V13.
+     */
+    @EntityGraph(attributePaths = {"subject", "verb", "object"})
+    List<AllowedCombination> findByVerbIdAndIdGreaterThan(Long verbId, Long afterId, Pageable pageable);
+
+    /**
+     * Finds one page of the combinations matching the filter (see CombinationSpecifications) with their words.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"subject", "verb", "object"})
+    Page<AllowedCombination> findAll(Specification<AllowedCombination> spec, Pageable pageable);
+
     /**
      * Checks if a combination already exists based on all three word IDs.
      */
@@ -23,8 +66,79 @@ public interface AllowedCombinationRepository extends JpaRepository<AllowedCombi
     Optional<AllowedCombination> findBySubjectIdAndVerbIdAndObjectId(Long subjectId, Long verbId, Long objectId);
 
     /**
-     * Deletes all combinations associated with a specific verb ID.
+     * Deletes a single combination without loading it first.
+     * @return Number of deleted rows (0 or 1).
+     */
+    @Modifying
+    @Query("DELETE FROM AllowedCombination c WHERE c.id = :id")
+    int deleteCombinationById(@Param("id") Long id);
+
+    /**
+     * Deletes all combinations with the given IDs in a single statement.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM AllowedCombination c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes all combinations associated with a specific verb ID in a single statement.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM AllowedCombination c WHERE c.verb.id = :verbId")
+    int deleteAllByVerbId(@Param("verbId") Long verbId);
+
+    /**
+     * Deletes all combinations associated with a specific subject ID in a single statement.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM AllowedCombination c WHERE c.subject.id = :subjectId")
+    int deleteAllBySubjectId(@Param("subjectId") Long subjectId);
+
+    /**
+     * Deletes all combinations associated with a specific object ID in a single statement.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("DELETE FROM AllowedCombination c WHERE c.object.id = :objectId")
+    int deleteAllByObjectId(@Param("objectId") Long objectId);
+
+    /**
+     * Counts the existing combinations of a verb among the given subjects and objects.
+     */
+    long countByVerbIdAndSubjectIdInAndObjectIdIn(
+            Long verbId,
+            Collection<Long> subjectIds,
+            Collection<Long> objectIds);
+
+    /**
+     * Inserts every (subject, verb, object) combination of the given subjects and objects in a single statement.
+     * Unknown word IDs and existing combinations are skipped.
+     * @return Number of created combinations.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vnest.allowed_combination (subject_id, verb_id, object_id) " +
+            "SELECT s.id, :verbId, o.id FROM vnest.word s CROSS JOIN vnest.word o " +
+            "WHERE s.id IN (:subjectIds) AND o.id IN (:objectIds) " +
+            "ON CONFLICT (verb_id, subject_id, object_id) DO NOTHING", nativeQuery = true)
+    int insertCrossProduct(
+            @Param("verbId") Long verbId,
+            @Param("subjectIds") Collection<Long> subjectIds,
+            @Param("objectIds") Collection<Long> objectIds);
+
+    /**
+     * Copies every combination of the source verb to the target verb in a single statement.
+     * Combinations the target verb already has are skipped.
+     * @return Number of created combinations.
      */
     @Modifying
-    void deleteAllByVerbId(Long verbId);
+    @Query(value = "INSERT INTO vnest.allowed_combination (subject_id, verb_id, object_id) " +
+            "SELECT c.subject_id, :targetVerbId, c.object_id FROM vnest.allowed_combination c " +
+            "WHERE c.verb_id = :sourceVerbId " +
+            "ON CONFLICT (verb_id, subject_id, object_id) DO NOTHING", nativeQuery = true)
+    int copyVerbCombinations(
+            @Param("sourceVerbId") Long sourceVerbId,
+            @Param("targetVerbId") Long targetVerbId);
 }
@@ -0,0 +1,79 @@
+package fi.vnest.speechtherapy.api.repository;
+
+import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import fi.vnest.speechtherapy.api.model.Word;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Filters for searching AllowedCombinations.
+ * Slot filters compare the foreign key columns directly, so they use the per-slot combination indexes.
+ */
+public final class CombinationSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CombinationSpecifications() {
+    }
+
+    public static Specification<AllowedCombination> hasSubject(Long subjectId) {
+        return (root, query, cb) -> cb.equal(root.get("subject").get("id"), subjectId);
+    }
+
+    public static Specification<AllowedCombination> hasVerb(Long verbId) {
+        return (root, query, cb) -> cb.equal(root.get("verb").get("id"), verbId);
+    }
+
+    public static Specification<AllowedCombination> hasObject(Long objectId) {
+        return (root, query, cb) -> cb.equal(root.get("object").get("id"), objectId);
+    }
+
+    /**
+     * Matches combinations whose sentence contains every whitespace-separated term of the text, ignoring case,
+     * e.g. "ajaa trakto" matches "Maanviljelijä ajaa traktoria". Each term must occur within one of the words.
+     * The words containing a term are found with the trigram index on word.normalized_text (see V9 migration).
+     */
+    public static Specification<AllowedCombination> sentenceContains(String text) {
+        List<String> terms = Arrays.stream(Word.normalize(text).split(" "))
+                .filter(term -> !term.isEmpty())
+                .toList();
+
+        return (root, query, cb) -> cb.and(terms.stream()
+                .map(term -> anySlotContains(root, query, cb, term))
+                .toArray(Predicate[]::new));
+    }
+
+    private static Predicate anySlotContains(
+            Root<AllowedCombination> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            String term) {
+
+        String pattern = "%" + escapeLike(term) + "%";
+        return cb.or(
+                root.get("subject").get("id").in(wordsContaining(query, cb, pattern)),
+                root.get("verb").get("id").in(wordsContaining(query, cb, pattern)),
+                root.get("object").get("id").in(wordsContaining(query, cb, pattern))
+        );
+    }
+
+    private static Subquery<Long> wordsContaining(CriteriaQuery<?> query, CriteriaBuilder cb, String pattern) {
+        Subquery<Long> wordIds = query.subquery(Long.class);
+        Root<Word> word = wordIds.from(Word.class);
+        return wordIds.select(word.get("id"))
+                .where(cb.like(word.get("normalizedText"), pattern, LIKE_ESCAPE));
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,41 @@
+package fi.vnest.speechtherapy.api.repository;
+
+import fi.vnest.speechtherapy.api.model.VerbCombinationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA Repository for the trigger-maintained per-verb combination summaries.
+ */
+@Repository
+public interface VerbCombinationSummaryRepository extends JpaRepository<VerbCombinationSummary, Long> {
+
+    /**
+     * Finds all summaries together with their verbs, ordered by verb ID.
+     */
+    @Query("SELECT s FROM VerbCombinationSummary s JOIN FETCH s.verb ORDER BY s.verbId")
+    List<VerbCombinationSummary> findAllWithVerb();
+
+    /**
+     * Finds the summary of a single verb together with the verb.
+     */
+    @Query("SELECT s FROM VerbCombinationSummary s JOIN FETCH s.verb WHERE s.verbId = :verbId")
+    Optional<VerbCombinationSummary> findWithVerbByVerbId(@Param("verbId") Long verbId);
+
+    /**
+     * Counts all combinations from the summaries, which is much cheaper than counting allowed_combination.
+     */
+    @Query("SELECT COALESCE(SUM(s.combinationCount), 0) FROM VerbCombinationSummary s")
+    long sumCombinationCounts();
+
+    /**
+     * Finds the number of combinations of a single verb, empty if it has none.
+     */
+    @Query("SELECT s.combinationCount FROM VerbCombinationSummary s WHERE s.verbId = :verbId")
+    Optional<Integer> findCombinationCountByVerbId(@Param("verbId") Long verbId);
+}
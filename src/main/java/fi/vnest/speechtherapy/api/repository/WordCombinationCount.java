@@ -0,0 +1,12 @@
+package fi.vnest.speechtherapy.api.repository;
+
+import fi.vnest.speechtherapy.api.model.Word;
+
+/**
+ * Projection of a Word with the number of combinations it is the verb of (null if none).
+ */
+public record WordCombinationCount(
+        Word word,
+        Integer combinationCount
+) {
+}
@@ -2,9 +2,15 @@ package fi.vnest.speechtherapy.api.repository;
 
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.model.WordType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,4 +24,51 @@ public interface WordRepository extends JpaRepository<Word, Long> {
      * Spring Data JPA automatically generates the query for this method name.
      */
     List<Word> findByType(WordType type);
+
+    /**
+     * Finds one page of the words of a specific type.
+     */
+    Page<Word> findByType(WordType type, Pageable pageable);
+
+    /**
+     * Finds all words whose normalized text is in the given collection, regardless of type.
+     */
+    List<Word> findByNormalizedTextIn(Collection<String> normalizedTexts);
+
+    /**
+     * Returns which of the given IDs belong to existing words.
+     */
+    @Query("SELECT w.id FROM Word w WHERE w.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds all words with their combination counts as verbs in a single query, ordered by type and ID.
+     * The counts come from the trigger-maintained verb_combination_summary table (see the V4 and V11 migrations).
+     */
+    @Query("SELECT new fi.vnest.speechtherapy.api.repository.WordCombinationCount(w, s.combinationCount) " +
+            "FROM Word w LEFT JOIN VerbCombinationSummary s ON s.verbId = w.id ORDER BY w.type, w.id")
+    List<WordCombinationCount> findAllWithCombinationCount();
+
+    /**
+     * Finds the verbs allowed between a subject and an object, ordered by ID.
+     */
+    @Query("SELECT w FROM Word w WHERE w.id IN (SELECT c.verb.id FROM AllowedCombination c " +
+            "WHERE c.subject.id = :subjectId AND c.object.id = :objectId) ORDER BY w.id")
+    List<Word> findCompatibleVerbs(@Param("subjectId") Long subjectId, @Param("objectId") Long objectId);
+
+    /**
+     * Finds the objects allowed after a subject and a verb, ordered by ID.
+     */
+    @Query("SELECT w FROM Word w WHERE w.id IN (SELECT c.object.id FROM AllowedCombination c " +
+            "WHERE c.subject.id = :subjectId AND c.verb.id = :verbId) ORDER BY w.id")
+    List<Word> findCompatibleObjects(@Param("subjectId") Long subjectId, @Param("verbId") Long verbId);
+
+    /**
+     * Deletes a word without loading it first.
+     * Combinations referencing the word are removed by the ON DELETE CASCADE foreign keys.
+     * @return Number of deleted rows (0 or 1).
+     */
+    @Modifying
+    @Query("DELETE FROM Word w WHERE w.id = :id")
+    int deleteWordById(@Param("id") Long id);
 }
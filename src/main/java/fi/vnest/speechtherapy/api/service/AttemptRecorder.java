@@ -0,0 +1,235 @@
+package fi.vnest.speechtherapy.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records validation attempts without blocking the request.
+ * Attempts go into a bounded lock-free queue that a background thread drains into the attempt table
+ * in JDBC batches. When the queue is full, new attempts are dropped instead of slowing down requests.
+ * The queue is flushed when the application shuts down.
+ *
+ * Counts are published as the "vnest.attempts" metric, tagged with the outcome: written, dropped
+ * (queue full) or failed (database error).
+ */
+@Component
+public class AttemptRecorder implements SmartLifecycle {
+
+    static final String INSERT_SQL = "INSERT INTO vnest.attempt "
+            + "(attempted_at, patient_id, session_id, subject_id, verb_id, object_id, correct, latency_micros) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptRecorder.class);
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int batchSize;
+
+    private final Queue<ValidationAttempt> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Set<YearMonth> partitionedMonths = new HashSet<>();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public AttemptRecorder(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vnest.attempts.queue-capacity:10000}") int capacity,
+            @Value("${vnest.attempts.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        registerCounter(meterRegistry, "written", written);
+        registerCounter(meterRegistry, "dropped", dropped);
+        registerCounter(meterRegistry, "failed", failed);
+        Gauge.builder("vnest.attempts.queue.size", size, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Queues an attempt for writing.
+     *
+     * @return false if the queue was full and the attempt was dropped.
+     */
+    public boolean record(ValidationAttempt attempt) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+
+        queue.offer(attempt);
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drain, "attempt-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so attempts of requests finishing during a graceful shutdown are still written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Writes all queued attempts in batches.
+     */
+    synchronized void flush() {
+        List<ValidationAttempt> batch = new ArrayList<>(batchSize);
+        ValidationAttempt attempt;
+
+        while ((attempt = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(attempt);
+
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+            }
+            flush();
+        }
+    }
+
+    private void write(List<ValidationAttempt> batch) {
+        try {
+            ensurePartitions(batch);
+
+            List<Object[]> rows = batch.stream()
+                    .map(attempt -> new Object[]{
+                            LocalDateTime.ofInstant(attempt.attemptedAt(), ZoneOffset.UTC),
+                            attempt.patientId(),
+                            attempt.sessionId(),
+                            attempt.subjectId(),
+                            attempt.verbId(),
+                            attempt.objectId(),
+                            attempt.correct(),
+                            (int) Math.min(attempt.latencyMicros(), Integer.MAX_VALUE)
+                    })
+                    .toList();
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.add(batch.size());
+        } catch (DataAccessException e) {
+            failed.add(batch.size());
+            log.warn("Failed to write {} validation attempts", batch.size(), e);
+        }
+    }
+
+    /**
+     * Creates the monthly partitions of every month in the batch, and of the month after the latest one,
+     * that weren't created before. A month is only remembered once its partition exists, so failures are
+     * retried with the next batch; meanwhile the rows land in the default partition and are moved to the
+     * month's partition when it is created (see V12 migration).
+     */
+    private void ensurePartitions(List<ValidationAttempt> batch) {
+        YearMonth earliest = null;
+        YearMonth latest = null;
+        for (ValidationAttempt attempt : batch) {
+            YearMonth month = YearMonth.from(attempt.attemptedAt().atOffset(ZoneOffset.UTC));
+            earliest = earliest == null || month.isBefore(earliest) ? month : earliest;
+            latest = latest == null || month.isAfter(latest) ? month : latest;
+        }
+
+        try {
+            for (YearMonth month = earliest; !month.isAfter(latest.plusMonths(1)); month = month.plusMonths(1)) {
+                if (!partitionedMonths.contains(month)) {
+                    jdbcTemplate.execute("SELECT vnest.create_attempt_partition(DATE '" + month.atDay(1) + "')");
+                    partitionedMonths.add(month);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to create attempt partitions for {} to {}", earliest, latest.plusMonths(1), e);
+        }
+    }
+
+    private static void registerCounter(MeterRegistry meterRegistry, String outcome, LongAdder counter) {
+        FunctionCounter.builder("vnest.attempts", counter, LongAdder::doubleValue)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,216 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.AccuracyStatsResponse;
+import fi.vnest.speechtherapy.api.dto.DailyAccuracy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates validation outcomes per verb and per patient for each day (UTC).
+ * Counts are accumulated in memory and added to the rollup tables every few seconds, so reports
+ * read at most one row per day instead of scanning the attempt table. Reports lag behind by up to
+ * one flush interval. Pending counts are flushed when the application shuts down.
+ */
+@Component
+public class AttemptStatistics implements SmartLifecycle {
+
+    static final String UPSERT_VERB_SQL = "INSERT INTO vnest.verb_daily_stats (verb_id, day, attempts, correct) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (verb_id, day) DO UPDATE "
+            + "SET attempts = verb_daily_stats.attempts + EXCLUDED.attempts, "
+            + "correct = verb_daily_stats.correct + EXCLUDED.correct";
+    static final String UPSERT_PATIENT_SQL = "INSERT INTO vnest.patient_daily_stats (patient_id, day, attempts, correct) "
+            + "VALUES (?, ?, ?, ?) ON CONFLICT (patient_id, day) DO UPDATE "
+            + "SET attempts = patient_daily_stats.attempts + EXCLUDED.attempts, "
+            + "correct = patient_daily_stats.correct + EXCLUDED.correct";
+
+    private static final String SELECT_VERB_SQL = "SELECT day, attempts, correct FROM vnest.verb_daily_stats "
+            + "WHERE verb_id = ? AND day >= ? ORDER BY day";
+    private static final String SELECT_PATIENT_SQL = "SELECT day, attempts, correct FROM vnest.patient_daily_stats "
+            + "WHERE patient_id = ? AND day >= ? ORDER BY day";
+
+    private static final Logger log = LoggerFactory.getLogger(AttemptStatistics.class);
+    private static final long FLUSH_INTERVAL_SECONDS = 10;
+    private static final RowMapper<DailyAccuracy> DAILY_ACCURACY_MAPPER = (rs, rowNum) -> new DailyAccuracy(
+            rs.getObject("day", LocalDate.class),
+            rs.getLong("attempts"),
+            rs.getLong("correct")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<DayKey<Long>, Counts> verbCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DayKey<String>, Counts> patientCounts = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    @Autowired
+    public AttemptStatistics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Counts an attempt. Attempts without a patient ID are only counted for the verb.
+     */
+    public void record(ValidationAttempt attempt) {
+        LocalDate day = LocalDate.ofInstant(attempt.attemptedAt(), ZoneOffset.UTC);
+
+        increment(verbCounts, new DayKey<>(attempt.verbId(), day), attempt.correct());
+        if (attempt.patientId() != null) {
+            increment(patientCounts, new DayKey<>(attempt.patientId(), day), attempt.correct());
+        }
+    }
+
+    /**
+     * Returns the outcomes of a verb for the last days, including today.
+     */
+    public AccuracyStatsResponse verbStats(Long verbId, int days) {
+        return AccuracyStatsResponse.fromDays(
+                jdbcTemplate.query(SELECT_VERB_SQL, DAILY_ACCURACY_MAPPER, verbId, firstDay(days)));
+    }
+
+    /**
+     * Returns the outcomes of a patient for the last days, including today.
+     */
+    public AccuracyStatsResponse patientStats(String patientId, int days) {
+        return AccuracyStatsResponse.fromDays(
+                jdbcTemplate.query(SELECT_PATIENT_SQL, DAILY_ACCURACY_MAPPER, patientId, firstDay(days)));
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, like AttemptRecorder.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Adds the pending counts to the rollup tables.
+     * Counts that fail to be written are kept in memory and retried on the next flush.
+     */
+    synchronized void flush() {
+        flush(verbCounts, UPSERT_VERB_SQL);
+        flush(patientCounts, UPSERT_PATIENT_SQL);
+    }
+
+    private <K> void flush(ConcurrentMap<DayKey<K>, Counts> counts, String sql) {
+        Map<DayKey<K>, Counts> drained = new HashMap<>();
+
+        // Removing each entry inside compute excludes concurrent increments, so no count is lost
+        for (DayKey<K> key : counts.keySet()) {
+            counts.computeIfPresent(key, (k, pending) -> {
+                drained.put(k, pending);
+                return null;
+            });
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = drained.entrySet().stream()
+                .map(entry -> new Object[]{
+                        entry.getKey().id(),
+                        entry.getKey().day(),
+                        entry.getValue().attempts,
+                        entry.getValue().correct
+                })
+                .toList();
+
+        try {
+            // One transaction, so a failed flush adds nothing and can be retried as a whole
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to write {} attempt statistics rows, retrying on the next flush", rows.size(), e);
+            drained.forEach((key, pending) -> counts.merge(key, pending, Counts::plus));
+        }
+    }
+
+    private static <K> void increment(ConcurrentMap<DayKey<K>, Counts> counts, DayKey<K> key, boolean correct) {
+        counts.compute(key, (k, pending) -> {
+            Counts result = pending != null ? pending : new Counts(0, 0);
+            result.attempts++;
+            if (correct) {
+                result.correct++;
+            }
+            return result;
+        });
+    }
+
+    private static LocalDate firstDay(int days) {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
+    }
+
+    private record DayKey<K>(K id, LocalDate day) {
+    }
+
+    /**
+     * Mutated only inside ConcurrentHashMap.compute, which locks the entry.
+     */
+    private static final class Counts {
+        long attempts;
+        long correct;
+
+        Counts(long attempts, long correct) {
+            this.attempts = attempts;
+            this.correct = correct;
+        }
+
+        Counts plus(Counts other) {
+            return new Counts(attempts + other.attempts, correct + other.correct);
+        }
+    }
+}
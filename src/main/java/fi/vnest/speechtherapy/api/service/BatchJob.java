@@ -0,0 +1,106 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.BatchJobResponse;
+import fi.vnest.speechtherapy.api.dto.BatchJobResponse.Status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mutable state of one combination batch job. Written by the worker thread, read by polling requests.
+ */
+class BatchJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final Long verbId;
+    private final List<Long> subjectIds;
+    private final List<Long> objectIds;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long processedPairs;
+    private volatile long created;
+    private volatile String error;
+    private volatile Instant finishedAt;
+    private volatile boolean cancelRequested;
+
+    BatchJob(Long verbId, List<Long> subjectIds, List<Long> objectIds) {
+        this.verbId = verbId;
+        this.subjectIds = subjectIds;
+        this.objectIds = objectIds;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    Long getVerbId() {
+        return verbId;
+    }
+
+    List<Long> getSubjectIds() {
+        return subjectIds;
+    }
+
+    List<Long> getObjectIds() {
+        return objectIds;
+    }
+
+    long getTotalPairs() {
+        return (long) subjectIds.size() * objectIds.size();
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    void chunkCompleted(long pairs, long createdInChunk) {
+        processedPairs += pairs;
+        created += createdInChunk;
+    }
+
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void finish(Status finalStatus, String errorMessage) {
+        error = errorMessage;
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    BatchJobResponse toResponse() {
+        // Read in the reverse order of chunkCompleted, so skipped is never negative
+        long createdSoFar = created;
+        long processed = processedPairs;
+
+        return new BatchJobResponse(
+                id,
+                status,
+                getTotalPairs(),
+                processed,
+                createdSoFar,
+                processed - createdSoFar,
+                error,
+                submittedAt,
+                finishedAt
+        );
+    }
+}
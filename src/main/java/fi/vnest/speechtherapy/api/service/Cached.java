@@ -0,0 +1,18 @@
+package fi.vnest.speechtherapy.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A value read through a StaleCache.
+ *
+ * @param stale True if the database could not be reached and the last known good value was served instead.
+ * @param loadedAt When the value was read from the database.
+ */
+public record Cached<V>(V value, boolean stale, Instant loadedAt) {
+
+    public Duration age() {
+        Duration age = Duration.between(loadedAt, Instant.now());
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+}
@@ -0,0 +1,142 @@
+package fi.vnest.speechtherapy.api.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens for catalog change notifications sent by the database triggers (see V3 migration) and republishes
+ * them as local CatalogChangedEvents, so caches on this node are invalidated when another node writes.
+ *
+ * Uses its own connection outside the pool, because LISTEN keeps the connection busy for the lifetime of the node.
+ * After a reconnect everything is invalidated, since notifications sent while disconnected are lost.
+ */
+@Component
+public class CatalogChangeListener implements SmartLifecycle {
+
+    private static final String CHANNEL = "vnest_catalog_changed";
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeListener.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Autowired
+    public CatalogChangeListener(
+            DataSourceProperties dataSourceProperties,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${vnest.catalog.notifications.enabled:true}") boolean enabled) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listen, "catalog-change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+
+        while (running) {
+            try (Connection connection = openConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                if (reconnecting) {
+                    log.info("Reconnected to catalog change notifications, invalidating all caches");
+                    eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        publish(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Catalog change listener lost its connection, retrying in {} ms", RECONNECT_DELAY_MILLIS, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void publish(PGNotification[] notifications) {
+        boolean wordsChanged = false;
+        boolean combinationsChanged = false;
+
+        for (PGNotification notification : notifications) {
+            switch (notification.getParameter()) {
+                case "word" -> wordsChanged = true;
+                case "allowed_combination" -> combinationsChanged = true;
+                default -> log.debug("Ignoring catalog change notification for {}", notification.getParameter());
+            }
+        }
+
+        if (wordsChanged) {
+            eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+        } else if (combinationsChanged) {
+            eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword()
+        );
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
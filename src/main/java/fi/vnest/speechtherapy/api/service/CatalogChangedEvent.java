@@ -0,0 +1,28 @@
+package fi.vnest.speechtherapy.api.service;
+
+/**
+ * Application event published by the write paths of WordService and CombinationService,
+ * so in-memory data derived from words or combinations can be invalidated.
+ * Listeners should use @TransactionalEventListener so they only react after the write has been committed.
+ */
+public record CatalogChangedEvent(Scope scope) {
+
+    public enum Scope {
+        /** Words changed; combinations may have changed too (word texts, cascaded deletes). */
+        WORDS,
+        /** Only combinations changed. */
+        COMBINATIONS
+    }
+
+    public static CatalogChangedEvent wordsChanged() {
+        return new CatalogChangedEvent(Scope.WORDS);
+    }
+
+    public static CatalogChangedEvent combinationsChanged() {
+        return new CatalogChangedEvent(Scope.COMBINATIONS);
+    }
+
+    public boolean affectsWords() {
+        return scope == Scope.WORDS;
+    }
+}
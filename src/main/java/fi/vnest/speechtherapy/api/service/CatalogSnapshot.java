@@ -0,0 +1,280 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.model.WordType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped snapshot of the whole catalog: the word table and all (verb, subject, object) triples.
+ * Data stays off-heap in the page cache, so even large catalogs add nothing to GC pressure, and a restarted
+ * node can serve from the last snapshot as soon as it is mapped.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header   magic int, version int, word count int, triple count int, text length int
+ * words    per word: id long, type ordinal int, text offset int, text length int   (sorted by id)
+ * triples  per combination: verb id long, subject id long, object id long         (sorted by verb, subject, object)
+ * texts    UTF-8 bytes of all word texts
+ * </pre>
+ * Both tables are sorted, so lookups are binary searches. A single mapping limits the file to 2 GB,
+ * which is roughly 80 million combinations.
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x564E4353; // "VNCS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int WORD_BYTES = Long.BYTES + 3 * Integer.BYTES;
+    private static final int TRIPLE_BYTES = 3 * Long.BYTES;
+    private static final WordType[] WORD_TYPES = WordType.values();
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int tripleCount;
+    private final int triplesOffset;
+    private final int textsOffset;
+
+    private CatalogSnapshot(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a catalog snapshot file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported catalog snapshot version: " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.wordCount = buffer.getInt(8);
+        this.tripleCount = buffer.getInt(12);
+        this.triplesOffset = HEADER_BYTES + wordCount * WORD_BYTES;
+        this.textsOffset = triplesOffset + tripleCount * TRIPLE_BYTES;
+
+        if ((long) textsOffset + buffer.getInt(16) != buffer.capacity()) {
+            throw new IllegalStateException("Catalog snapshot file is truncated or corrupt");
+        }
+    }
+
+    /**
+     * Maps an existing snapshot file.
+     *
+     * @throws IllegalStateException if the file is not a valid snapshot.
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot(buffer);
+        }
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public int tripleCount() {
+        return tripleCount;
+    }
+
+    public long wordIdAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * WORD_BYTES);
+    }
+
+    public long verbIdAt(int index) {
+        return buffer.getLong(triplesOffset + index * TRIPLE_BYTES);
+    }
+
+    public long subjectIdAt(int index) {
+        return buffer.getLong(triplesOffset + index * TRIPLE_BYTES + Long.BYTES);
+    }
+
+    public long objectIdAt(int index) {
+        return buffer.getLong(triplesOffset + index * TRIPLE_BYTES + 2 * Long.BYTES);
+    }
+
+    /**
+     * Checks whether the combination exists, with a binary search over the triples.
+     */
+    public boolean containsCombination(long subjectId, long verbId, long objectId) {
+        int low = 0;
+        int high = tripleCount - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(verbIdAt(mid), subjectIdAt(mid), objectIdAt(mid), verbId, subjectId, objectId);
+
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the text of a word, or null if the word is not in the snapshot.
+     */
+    public String wordText(long wordId) {
+        int index = findWord(wordId);
+        if (index < 0) {
+            return null;
+        }
+
+        int entry = HEADER_BYTES + index * WORD_BYTES;
+        byte[] text = new byte[buffer.getInt(entry + Long.BYTES + 2 * Integer.BYTES)];
+        buffer.get(textsOffset + buffer.getInt(entry + Long.BYTES + Integer.BYTES), text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the type of a word, or null if the word is not in the snapshot.
+     */
+    public WordType wordType(long wordId) {
+        int index = findWord(wordId);
+        return index < 0 ? null : WORD_TYPES[buffer.getInt(HEADER_BYTES + index * WORD_BYTES + Long.BYTES)];
+    }
+
+    private int findWord(long wordId) {
+        int low = 0;
+        int high = wordCount - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = buffer.getLong(HEADER_BYTES + mid * WORD_BYTES);
+
+            if (midId < wordId) {
+                low = mid + 1;
+            } else if (midId > wordId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int compare(long verbA, long subjectA, long objectA, long verbB, long subjectB, long objectB) {
+        int cmp = Long.compare(verbA, verbB);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Long.compare(subjectA, subjectB);
+        return cmp != 0 ? cmp : Long.compare(objectA, objectB);
+    }
+
+    /**
+     * Streams a snapshot file, so the catalog never has to be on the heap as a whole: only the word texts are
+     * buffered, since they go after the triples. Words must be added before combinations, each in sorted order.
+     * The header is written by finish; a file that was not finished doesn't open as a snapshot.
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream texts = new ByteArrayOutputStream();
+        private long fileLength = HEADER_BYTES;
+        private int wordCount;
+        private int tripleCount;
+        private long lastWordId;
+        private long lastVerbId;
+        private long lastSubjectId;
+        private long lastObjectId;
+
+        private Writer(FileChannel channel) {
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        }
+
+        public static Writer create(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            channel.position(HEADER_BYTES);
+            return new Writer(channel);
+        }
+
+        /**
+         * @throws IllegalArgumentException if the word is not after the previous one by ID.
+         */
+        public void addWord(long id, WordType type, String text) throws IOException {
+            if (tripleCount > 0) {
+                throw new IllegalStateException("Words must be added before combinations");
+            }
+            if (wordCount > 0 && id <= lastWordId) {
+                throw new IllegalArgumentException("Words must be sorted by ID");
+            }
+
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            grow(WORD_BYTES + bytes.length);
+            out.writeLong(id);
+            out.writeInt(type.ordinal());
+            out.writeInt(texts.size());
+            out.writeInt(bytes.length);
+            texts.write(bytes);
+
+            lastWordId = id;
+            wordCount++;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the combination is not after the previous one.
+         */
+        public void addCombination(long verbId, long subjectId, long objectId) throws IOException {
+            if (tripleCount > 0 && compare(lastVerbId, lastSubjectId, lastObjectId, verbId, subjectId, objectId) >= 0) {
+                throw new IllegalArgumentException("Combinations must be sorted by verb, subject and object ID");
+            }
+
+            grow(TRIPLE_BYTES);
+            out.writeLong(verbId);
+            out.writeLong(subjectId);
+            out.writeLong(objectId);
+
+            lastVerbId = verbId;
+            lastSubjectId = subjectId;
+            lastObjectId = objectId;
+            tripleCount++;
+        }
+
+        public int tripleCount() {
+            return tripleCount;
+        }
+
+        public void finish() throws IOException {
+            texts.writeTo(out);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(wordCount)
+                    .putInt(tripleCount)
+                    .putInt(texts.size())
+                    .flip();
+            channel.write(header, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void grow(long bytes) {
+            fileLength += bytes;
+            if (fileLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Catalog is too large for a snapshot: over " + fileLength + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.model.WordType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the in-memory compatibility index and, when vnest.snapshot.path is set, the memory-mapped catalog
+ * snapshot in sync with the database.
+ *
+ * On startup the last snapshot file is mapped right away, so lookups are served from it while a fresh snapshot
+ * is rebuilt in the background. Catalog changes schedule a debounced rebuild; the previous snapshot and index keep
+ * serving until the new ones are swapped in, and a steady stream of writes delays the rebuild by at most
+ * MAX_REBUILD_DELAY_MILLIS. Rebuilds stream the rows from the database once, straight into the file and into the
+ * compatibility index, so the catalog is never loaded onto the heap as entities. Without a path only the index
+ * is built.
+ */
+@Component
+public class CatalogSnapshotService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+    private static final long REBUILD_DELAY_MILLIS = 1000;
+    private static final long MAX_REBUILD_DELAY_MILLIS = 10000;
+    private static final long RETRY_DELAY_MILLIS = 10000;
+    private static final int FETCH_SIZE = 10000;
+    private static final String SELECT_WORDS_SQL = "SELECT id, type, text FROM vnest.word ORDER BY id";
+    private static final String SELECT_COMBINATIONS_SQL = "SELECT verb_id, subject_id, object_id "
+            + "FROM vnest.allowed_combination ORDER BY verb_id, subject_id, object_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path path;
+
+    private volatile CatalogSnapshot current;
+    private volatile CompatibilityIndex compatibilityIndex;
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> pendingRebuild;
+    private long rebuildDueNanos;
+    private boolean rebuildPending;
+
+    @Autowired
+    public CatalogSnapshotService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${vnest.snapshot.path:}") String path) {
+        // A separate template, since the fetch size only streams inside a transaction and shouldn't apply elsewhere
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    /**
+     * Returns the current snapshot, or null if lookups must go to the database (always without a path).
+     */
+    public CatalogSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Returns the current compatibility index, or null if lookups must go to the database (until the first rebuild
+     * has finished, or if the catalog can't be indexed in memory).
+     */
+    CompatibilityIndex compatibilityIndex() {
+        return compatibilityIndex;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+
+        if (path != null && Files.exists(path)) {
+            try {
+                CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+                compatibilityIndex = buildIndex(() -> CompatibilityIndex.build(snapshot));
+                current = snapshot;
+                log.info("Mapped catalog snapshot {} with {} combinations", path, snapshot.tripleCount());
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Ignoring unreadable catalog snapshot {}", path, e);
+            }
+        }
+
+        scheduleRebuild(0);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!running) {
+            return;
+        }
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (!rebuildPending) {
+                rebuildPending = true;
+                rebuildDueNanos = now + TimeUnit.MILLISECONDS.toNanos(MAX_REBUILD_DELAY_MILLIS);
+            }
+            long delayMillis = Math.min(REBUILD_DELAY_MILLIS, TimeUnit.NANOSECONDS.toMillis(rebuildDueNanos - now));
+            scheduleRebuild(Math.max(delayMillis, 0));
+        }
+    }
+
+    private synchronized void scheduleRebuild(long delayMillis) {
+        if (pendingRebuild != null) {
+            pendingRebuild.cancel(false);
+        }
+        pendingRebuild = executor.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            // Changes from now on need another rebuild
+            rebuildPending = false;
+        }
+
+        try {
+            CompatibilityIndex.Builder indexBuilder = new CompatibilityIndex.Builder();
+            if (path == null) {
+                transactionTemplate.executeWithoutResult(status -> streamCatalog(null, indexBuilder));
+                compatibilityIndex = buildIndex(indexBuilder::build);
+                log.debug("Rebuilt compatibility index");
+                return;
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            int tripleCount;
+            try (CatalogSnapshot.Writer writer = CatalogSnapshot.Writer.create(temp)) {
+                transactionTemplate.executeWithoutResult(status -> streamCatalog(writer, indexBuilder));
+                writer.finish();
+                tripleCount = writer.tripleCount();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+            compatibilityIndex = buildIndex(indexBuilder::build);
+            current = snapshot;
+            log.debug("Rebuilt catalog snapshot with {} combinations", tripleCount);
+        } catch (RuntimeException | IOException e) {
+            if (running) {
+                log.warn("Failed to rebuild catalog snapshot, retrying in {} ms", RETRY_DELAY_MILLIS, e);
+                scheduleRebuild(RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Returns the built index, or null if the catalog can't be indexed in memory.
+     */
+    private static CompatibilityIndex buildIndex(Supplier<CompatibilityIndex> build) {
+        try {
+            return build.get();
+        } catch (IllegalArgumentException e) {
+            log.warn("Catalog can't be indexed in memory, compatibility lookups will use the database", e);
+            return null;
+        }
+    }
+
+    /**
+     * Feeds every word and combination to the index builder and, if given, the snapshot writer.
+     */
+    private void streamCatalog(CatalogSnapshot.Writer writer, CompatibilityIndex.Builder indexBuilder) {
+        jdbcTemplate.query(SELECT_WORDS_SQL, (RowCallbackHandler) row -> {
+            long id = row.getLong("id");
+            String text = row.getString("text");
+            indexBuilder.addWord(id, text);
+            if (writer != null) {
+                try {
+                    writer.addWord(id, WordType.valueOf(row.getString("type")), text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        jdbcTemplate.query(SELECT_COMBINATIONS_SQL, (RowCallbackHandler) row -> {
+            long verbId = row.getLong("verb_id");
+            long subjectId = row.getLong("subject_id");
+            long objectId = row.getLong("object_id");
+            indexBuilder.addCombination(verbId, subjectId, objectId);
+            if (writer != null) {
+                try {
+                    writer.addCombination(verbId, subjectId, objectId);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+}
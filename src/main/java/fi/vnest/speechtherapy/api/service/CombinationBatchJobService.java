@@ -0,0 +1,210 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.BatchJobResponse;
+import fi.vnest.speechtherapy.api.dto.BatchJobResponse.Status;
+import fi.vnest.speechtherapy.api.dto.CombinationBatchRequest;
+import fi.vnest.speechtherapy.api.repository.AllowedCombinationRepository;
+import fi.vnest.speechtherapy.api.repository.WordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs large Verb x Subjects x Objects batches in the background.
+ * The cross product is inserted chunk by chunk, each chunk in its own short transaction, so a huge batch
+ * neither times out the request nor holds locks for its whole duration. Jobs run on a bounded executor;
+ * when its queue is full, new jobs are rejected. Finished jobs are kept for an hour for polling.
+ */
+@Service
+public class CombinationBatchJobService implements DisposableBean {
+
+    /** Upper bound for the subject and object IDs of one statement, to stay well below the JDBC parameter limit. */
+    static final int MAX_IDS_PER_CHUNK = 1000;
+    /** Upper bound for the pairs inserted in one transaction. */
+    static final int MAX_PAIRS_PER_CHUNK = 10000;
+    /** Background chunks have no request deadline, so each transaction gets its own timeout. */
+    static final int CHUNK_TIMEOUT_SECONDS = 60;
+
+    private static final Logger log = LoggerFactory.getLogger(CombinationBatchJobService.class);
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+    private final AllowedCombinationRepository combinationRepository;
+    private final WordRepository wordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final ConcurrentMap<UUID, BatchJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CombinationBatchJobService(
+            AllowedCombinationRepository combinationRepository,
+            WordRepository wordRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${vnest.batch-jobs.threads:2}") int threads,
+            @Value("${vnest.batch-jobs.queue-capacity:16}") int queueCapacity) {
+        this(combinationRepository, wordRepository, eventPublisher, transactionManager,
+                newExecutor(threads, queueCapacity));
+    }
+
+    CombinationBatchJobService(
+            AllowedCombinationRepository combinationRepository,
+            WordRepository wordRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            Executor executor) {
+        this.combinationRepository = combinationRepository;
+        this.wordRepository = wordRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(CHUNK_TIMEOUT_SECONDS);
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a batch job.
+     * Throws NoSuchElementException if the verb ID is invalid, and RejectedExecutionException if too many jobs are queued.
+     */
+    public BatchJobResponse submit(CombinationBatchRequest request) {
+        if (!wordRepository.existsById(request.getVerbId())) {
+            throw new NoSuchElementException("Verb word not found with ID: " + request.getVerbId());
+        }
+
+        removeExpiredJobs();
+
+        BatchJob job = new BatchJob(
+                request.getVerbId(),
+                request.getSubjectIds().stream().distinct().toList(),
+                request.getObjectIds().stream().distinct().toList()
+        );
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the progress of a job.
+     * Throws NoSuchElementException if the job is unknown or has expired.
+     */
+    public BatchJobResponse getJob(UUID jobId) {
+        return findJobOrThrow(jobId).toResponse();
+    }
+
+    /**
+     * Requests cancellation of a job. The job stops after its current chunk; chunks already committed are kept.
+     * Throws NoSuchElementException if the job is unknown or has expired.
+     */
+    public BatchJobResponse cancelJob(UUID jobId) {
+        BatchJob job = findJobOrThrow(jobId);
+        job.requestCancel();
+        return job.toResponse();
+    }
+
+    @Override
+    public void destroy() {
+        jobs.values().forEach(BatchJob::requestCancel);
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void run(BatchJob job) {
+        if (job.isCancelRequested()) {
+            job.finish(Status.CANCELLED, null);
+            return;
+        }
+
+        job.markRunning();
+        try {
+            processChunks(job);
+            job.finish(job.isCancelRequested() ? Status.CANCELLED : Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.warn("Combination batch job {} failed", job.getId(), e);
+            job.finish(Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void processChunks(BatchJob job) {
+        List<Long> subjectIds = job.getSubjectIds();
+        List<Long> objectIds = job.getObjectIds();
+        int objectChunkSize = Math.min(Math.max(objectIds.size(), 1), MAX_IDS_PER_CHUNK);
+        int subjectChunkSize = Math.max(1, Math.min(MAX_IDS_PER_CHUNK, MAX_PAIRS_PER_CHUNK / objectChunkSize));
+
+        for (int s = 0; s < subjectIds.size(); s += subjectChunkSize) {
+            List<Long> subjects = subjectIds.subList(s, Math.min(s + subjectChunkSize, subjectIds.size()));
+
+            for (int o = 0; o < objectIds.size(); o += objectChunkSize) {
+                if (job.isCancelRequested()) {
+                    return;
+                }
+
+                List<Long> objects = objectIds.subList(o, Math.min(o + objectChunkSize, objectIds.size()));
+                Integer created = transactionTemplate.execute(status ->
+                        combinationRepository.insertCrossProduct(job.getVerbId(), subjects, objects));
+
+                if (created != null && created > 0) {
+                    eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+                }
+                job.chunkCompleted((long) subjects.size() * objects.size(), created != null ? created : 0);
+            }
+        }
+    }
+
+    private BatchJob findJobOrThrow(UUID jobId) {
+        BatchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Batch job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static ExecutorService newExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "combination-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
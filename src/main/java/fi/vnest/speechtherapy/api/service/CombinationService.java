@@ -2,12 +2,24 @@ package fi.vnest.speechtherapy.api.service;
 
 import fi.vnest.speechtherapy.api.dto.*;
 import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import fi.vnest.speechtherapy.api.model.VerbCombinationSummary;
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.repository.AllowedCombinationRepository;
+import fi.vnest.speechtherapy.api.repository.CombinationSpecifications;
+import fi.vnest.speechtherapy.api.repository.VerbCombinationSummaryRepository;
 import fi.vnest.speechtherapy.api.repository.WordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,14 +32,37 @@ public class CombinationService {
     private static final String UNKNOWN_SUBJECT = "[Unknown Subject]";
     private static final String UNKNOWN_VERB = "[Unknown Verb]";
     private static final String UNKNOWN_OBJECT = "[Unknown Object]";
+    private static final String ALL_SUGGESTIONS = "all";
 
     private final AllowedCombinationRepository combinationRepository;
     private final WordRepository wordRepository;
+    private final VerbCombinationSummaryRepository summaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogSnapshotService snapshotService;
+    private final AttemptRecorder attemptRecorder;
+    private final AttemptStatistics attemptStatistics;
+    private final StaleCache<String, SuggestionResponse> suggestionsCache;
+    private final StaleCache<Long, VerbSuggestion> verbSuggestionCache;
 
     @Autowired
-    public CombinationService(AllowedCombinationRepository combinationRepository, WordRepository wordRepository) {
+    public CombinationService(
+            AllowedCombinationRepository combinationRepository,
+            WordRepository wordRepository,
+            VerbCombinationSummaryRepository summaryRepository,
+            ApplicationEventPublisher eventPublisher,
+            CatalogSnapshotService snapshotService,
+            AttemptRecorder attemptRecorder,
+            AttemptStatistics attemptStatistics,
+            MeterRegistry meterRegistry) {
         this.combinationRepository = combinationRepository;
         this.wordRepository = wordRepository;
+        this.summaryRepository = summaryRepository;
+        this.eventPublisher = eventPublisher;
+        this.snapshotService = snapshotService;
+        this.attemptRecorder = attemptRecorder;
+        this.attemptStatistics = attemptStatistics;
+        this.suggestionsCache = new StaleCache<>("suggestions", meterRegistry);
+        this.verbSuggestionCache = new StaleCache<>("verb-suggestions", meterRegistry);
     }
 
     /**
@@ -39,6 +74,36 @@ public class CombinationService {
                 : combinationRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of combinations ordered by ID, matching all given filters.
+     * Without filters other than the verb, the total is taken from the per-verb summaries instead of counting
+     * the combinations, and a known afterId (the last ID of the previous page) turns the offset into a keyset
+     * lookup, so sequential pages cost the same deep into the table as at its start.
+     *
+     * @param afterId ID of the last combination of the previous page, or null to skip to the page by offset.
+     */
+    public Page<AllowedCombination> findPage(CombinationFilter filter, int page, int size, Long afterId) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+
+        if (!filter.isVerbOnly()) {
+            return combinationRepository.findAll(toSpecification(filter), pageable);
+        }
+
+        Pageable keysetPageable = PageRequest.of(0, size, Sort.by("id"));
+        if (filter.verbId() != null) {
+            List<AllowedCombination> content = afterId != null
+                    ? combinationRepository.findByVerbIdAndIdGreaterThan(filter.verbId(), afterId, keysetPageable)
+                    : combinationRepository.findByVerbId(filter.verbId(), pageable);
+            long total = summaryRepository.findCombinationCountByVerbId(filter.verbId()).orElse(0);
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        List<AllowedCombination> content = afterId != null
+                ? combinationRepository.findByIdGreaterThan(afterId, keysetPageable)
+                : combinationRepository.findPage(pageable);
+        return new PageImpl<>(content, pageable, summaryRepository.sumCombinationCounts());
+    }
+
     /**
      * Creates a single new combination.
      * Throws NoSuchElementException if any word ID is invalid.
@@ -51,26 +116,74 @@ public class CombinationService {
 
         validateCombinationDoesNotExist(request, subject, verb, object);
 
-        return combinationRepository.save(new AllowedCombination(subject, verb, object));
+        AllowedCombination saved = combinationRepository.save(new AllowedCombination(subject, verb, object));
+        eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+        return saved;
     }
 
     /**
      * Creates a batch of combinations (Verb x Subjects x Objects).
-     * Skips combinations that already exist and counts only created ones.
+     * Skips combinations that already exist and counts only created ones. Repeated subject or object IDs are
+     * ignored, as in previewCombinationsBatch, so they can't produce the same combination twice.
      */
     @Transactional
     public List<AllowedCombination> createCombinationsBatch(CombinationBatchRequest batchRequest) {
         Word verb = findWordOrThrow(batchRequest.getVerbId(), "Verb");
-        Map<Long, Word> wordMap = fetchWordsAsMap(batchRequest.getSubjectIds(), batchRequest.getObjectIds());
+        Set<Long> subjectIds = new LinkedHashSet<>(batchRequest.getSubjectIds());
+        Set<Long> objectIds = new LinkedHashSet<>(batchRequest.getObjectIds());
+        Map<Long, Word> wordMap = fetchWordsAsMap(subjectIds, objectIds);
 
-        List<AllowedCombination> combinationsToSave = buildCombinationsToSave(
-                verb,
-                batchRequest.getSubjectIds(),
-                batchRequest.getObjectIds(),
-                wordMap
-        );
+        List<AllowedCombination> combinationsToSave = buildCombinationsToSave(verb, subjectIds, objectIds, wordMap);
+
+        List<AllowedCombination> saved = combinationRepository.saveAll(combinationsToSave);
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+        }
+        return saved;
+    }
+
+    /**
+     * Previews a batch without writing anything: counts the combinations createCombinationsBatch would create and
+     * the ones that already exist, and lists the unknown subject and object IDs.
+     * Existing combinations are counted with one indexed query instead of checking every pair of the product.
+     * Throws NoSuchElementException if the verb ID doesn't exist, like createCombinationsBatch.
+     */
+    public CombinationBatchPreview previewCombinationsBatch(CombinationBatchRequest batchRequest) {
+        Word verb = findWordOrThrow(batchRequest.getVerbId(), "Verb");
+        Set<Long> subjectIds = new LinkedHashSet<>(batchRequest.getSubjectIds());
+        Set<Long> objectIds = new LinkedHashSet<>(batchRequest.getObjectIds());
+
+        Set<Long> allIds = new HashSet<>(subjectIds);
+        allIds.addAll(objectIds);
+        Set<Long> existingIds = new HashSet<>(wordRepository.findExistingIds(allIds));
 
-        return combinationRepository.saveAll(combinationsToSave);
+        List<Long> invalidSubjectIds = subjectIds.stream().filter(id -> !existingIds.contains(id)).toList();
+        List<Long> invalidObjectIds = objectIds.stream().filter(id -> !existingIds.contains(id)).toList();
+        long candidates = (long) (subjectIds.size() - invalidSubjectIds.size())
+                * (objectIds.size() - invalidObjectIds.size());
+
+        long existing = candidates == 0 ? 0 : combinationRepository.countByVerbIdAndSubjectIdInAndObjectIdIn(
+                verb.getId(), subjectIds, objectIds);
+        return new CombinationBatchPreview(candidates - existing, existing, invalidSubjectIds, invalidObjectIds);
+    }
+
+    /**
+     * Gives the target verb every subject/object pair of the source verb, e.g. when adding a synonym.
+     * Copies the rows in a single INSERT ... SELECT; pairs the target verb already has are skipped.
+     * Throws NoSuchElementException if either verb ID doesn't exist.
+     *
+     * @return Number of created combinations.
+     */
+    @Transactional
+    public int cloneCombinations(Long sourceVerbId, Long targetVerbId) {
+        findWordOrThrow(sourceVerbId, "Verb");
+        findWordOrThrow(targetVerbId, "Verb");
+
+        int created = combinationRepository.copyVerbCombinations(sourceVerbId, targetVerbId);
+        if (created > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+        }
+        return created;
     }
 
     /**
@@ -78,47 +191,141 @@ public class CombinationService {
      */
     @Transactional
     public void deleteCombination(Long id) {
-        if (!combinationRepository.existsById(id)) {
+        if (combinationRepository.deleteCombinationById(id) == 0) {
             throw new NoSuchElementException("Allowed combination not found with ID: " + id);
         }
 
-        combinationRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+    }
+
+    /**
+     * Deletes all combinations with the given IDs in a single statement.
+     * Unknown IDs are ignored.
+     *
+     * @return Number of deleted combinations.
+     */
+    @Transactional
+    public int deleteCombinations(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return publishIfDeleted(combinationRepository.deleteAllByIdIn(ids));
     }
 
     /**
      * Deletes all combinations associated with a specific verb ID.
      * Throws NoSuchElementException if the verb ID doesn't exist.
+     *
+     * @return Number of deleted combinations.
      */
     @Transactional
-    public void deleteCombinationsByVerb(Long verbId) {
-        if (!wordRepository.existsById(verbId)) {
-            throw new NoSuchElementException("Verb word not found with ID: " + verbId);
-        }
+    public int deleteCombinationsByVerb(Long verbId) {
+        int deleted = combinationRepository.deleteAllByVerbId(verbId);
+        verifyWordExistsIfNothingDeleted(deleted, verbId, "Verb");
+        return publishIfDeleted(deleted);
+    }
 
-        combinationRepository.deleteAllByVerbId(verbId);
+    /**
+     * Deletes all combinations associated with a specific subject ID.
+     * Throws NoSuchElementException if the subject ID doesn't exist.
+     *
+     * @return Number of deleted combinations.
+     */
+    @Transactional
+    public int deleteCombinationsBySubject(Long subjectId) {
+        int deleted = combinationRepository.deleteAllBySubjectId(subjectId);
+        verifyWordExistsIfNothingDeleted(deleted, subjectId, "Subject");
+        return publishIfDeleted(deleted);
+    }
+
+    /**
+     * Deletes all combinations associated with a specific object ID.
+     * Throws NoSuchElementException if the object ID doesn't exist.
+     *
+     * @return Number of deleted combinations.
+     */
+    @Transactional
+    public int deleteCombinationsByObject(Long objectId) {
+        int deleted = combinationRepository.deleteAllByObjectId(objectId);
+        verifyWordExistsIfNothingDeleted(deleted, objectId, "Object");
+        return publishIfDeleted(deleted);
     }
 
     /**
      * Retrieves data structure for generating sentence building exercises.
+     * Served from memory until the catalog changes, and marked stale while the database is unavailable.
      *
      * @param limit Maximum number of verbs to include (currently unused but supports future feature).
      */
-    public SuggestionResponse getExerciseSuggestions(Integer limit) {
-        List<AllowedCombination> allCombinations = combinationRepository.findAll();
+    public Cached<SuggestionResponse> getExerciseSuggestions(Integer limit) {
+        // The response doesn't depend on the limit yet, so all limits share one entry instead of one per client value
+        return suggestionsCache.get(ALL_SUGGESTIONS, () -> buildExerciseSuggestions(limit));
+    }
 
-        CombinationGrouping grouping = groupCombinationsByVerb(allCombinations);
-        List<VerbSuggestion> verbSuggestions = buildVerbSuggestions(grouping);
+    /**
+     * Retrieves the compatible subjects and objects of a single verb.
+     * Served from memory like getExerciseSuggestions.
+     * Throws NoSuchElementException if the verb ID doesn't exist.
+     */
+    public Cached<VerbSuggestion> getVerbSuggestion(Long verbId) {
+        return verbSuggestionCache.get(verbId, () -> loadVerbSuggestion(verbId));
+    }
 
-        List<WordReference> subjectRefs = fetchWordReferences(grouping.allSubjectIds);
-        List<WordReference> objectRefs = fetchWordReferences(grouping.allObjectIds);
+    /**
+     * Retrieves the verbs allowed between a subject and an object, ordered by ID.
+     * Read from the in-memory compatibility index, or from the database until the index has been built.
+     * Unknown word IDs simply have no compatible verbs.
+     */
+    public List<WordReference> getCompatibleVerbs(Long subjectId, Long objectId) {
+        CompatibilityIndex index = snapshotService.compatibilityIndex();
+        if (index != null) {
+            return indexWordReferences(index, index.verbsFor(subjectId, objectId));
+        }
+        return toWordReferences(wordRepository.findCompatibleVerbs(subjectId, objectId));
+    }
 
-        return new SuggestionResponse(verbSuggestions, subjectRefs, objectRefs);
+    /**
+     * Retrieves the objects allowed after a subject and a verb, ordered by ID.
+     * Read from the in-memory compatibility index like getCompatibleVerbs.
+     */
+    public List<WordReference> getCompatibleObjects(Long subjectId, Long verbId) {
+        CompatibilityIndex index = snapshotService.compatibilityIndex();
+        if (index != null) {
+            return indexWordReferences(index, index.objectsFor(subjectId, verbId));
+        }
+        return toWordReferences(wordRepository.findCompatibleObjects(subjectId, verbId));
     }
 
     /**
      * Validates if a specific S-V-O combination exists.
+     * The attempt is recorded and counted in the background for progress tracking.
      */
     public ValidationResponse validateCombination(ValidationRequest request) {
+        long startNanos = System.nanoTime();
+        ValidationResponse response = checkCombination(request);
+
+        ValidationAttempt attempt = ValidationAttempt.of(request, response.valid(), System.nanoTime() - startNanos);
+        attemptRecorder.record(attempt);
+        attemptStatistics.record(attempt);
+        return response;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        suggestionsCache.invalidateAll();
+        verbSuggestionCache.invalidateAll();
+    }
+
+    /**
+     * Reads from the catalog snapshot when one is available.
+     */
+    private ValidationResponse checkCombination(ValidationRequest request) {
+        CatalogSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            return validateFromSnapshot(snapshot, request);
+        }
+
         Optional<AllowedCombination> combination = combinationRepository.findBySubjectIdAndVerbIdAndObjectId(
                 request.subjectId(),
                 request.verbId(),
@@ -128,6 +335,116 @@ public class CombinationService {
         return combination.map(this::buildValidResponse).orElseGet(() -> buildInvalidResponse(request));
     }
 
+    private SuggestionResponse buildExerciseSuggestions(Integer limit) {
+        CatalogSnapshot snapshot = snapshotService.current();
+        if (snapshot != null) {
+            return buildSuggestionsFromSnapshot(snapshot);
+        }
+
+        List<VerbCombinationSummary> summaries = summaryRepository.findAllWithVerb();
+
+        List<VerbSuggestion> verbSuggestions = summaries.stream()
+                .map(this::toVerbSuggestion)
+                .collect(Collectors.toList());
+
+        Set<Long> allSubjectIds = new HashSet<>();
+        Set<Long> allObjectIds = new HashSet<>();
+        for (VerbCombinationSummary summary : summaries) {
+            allSubjectIds.addAll(summary.getSubjectIds());
+            allObjectIds.addAll(summary.getObjectIds());
+        }
+
+        List<WordReference> subjectRefs = fetchWordReferences(allSubjectIds);
+        List<WordReference> objectRefs = fetchWordReferences(allObjectIds);
+
+        return new SuggestionResponse(verbSuggestions, subjectRefs, objectRefs);
+    }
+
+    private SuggestionResponse buildSuggestionsFromSnapshot(CatalogSnapshot snapshot) {
+        // Triples are sorted by verb, so verbs come out in ID order
+        Map<Long, Set<Long>> verbToSubjectIds = new LinkedHashMap<>();
+        Map<Long, Set<Long>> verbToObjectIds = new HashMap<>();
+        Set<Long> allSubjectIds = new TreeSet<>();
+        Set<Long> allObjectIds = new TreeSet<>();
+
+        for (int i = 0; i < snapshot.tripleCount(); i++) {
+            long verbId = snapshot.verbIdAt(i);
+            long subjectId = snapshot.subjectIdAt(i);
+            long objectId = snapshot.objectIdAt(i);
+
+            verbToSubjectIds.computeIfAbsent(verbId, k -> new LinkedHashSet<>()).add(subjectId);
+            verbToObjectIds.computeIfAbsent(verbId, k -> new LinkedHashSet<>()).add(objectId);
+            allSubjectIds.add(subjectId);
+            allObjectIds.add(objectId);
+        }
+
+        List<VerbSuggestion> verbSuggestions = verbToSubjectIds.entrySet().stream()
+                .map(entry -> new VerbSuggestion(
+                        entry.getKey(),
+                        snapshot.wordText(entry.getKey()),
+                        List.copyOf(entry.getValue()),
+                        List.copyOf(verbToObjectIds.get(entry.getKey()))
+                ))
+                .collect(Collectors.toList());
+
+        return new SuggestionResponse(
+                verbSuggestions,
+                snapshotWordReferences(snapshot, allSubjectIds),
+                snapshotWordReferences(snapshot, allObjectIds)
+        );
+    }
+
+    private List<WordReference> snapshotWordReferences(CatalogSnapshot snapshot, Set<Long> wordIds) {
+        return wordIds.stream()
+                .map(id -> {
+                    WordReference reference = new WordReference();
+                    reference.setId(id);
+                    reference.setText(snapshot.wordText(id));
+                    return reference;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<WordReference> indexWordReferences(CompatibilityIndex index, long[] wordIds) {
+        List<WordReference> references = new ArrayList<>(wordIds.length);
+        for (long id : wordIds) {
+            WordReference reference = new WordReference();
+            reference.setId(id);
+            reference.setText(index.wordText(id));
+            references.add(reference);
+        }
+        return references;
+    }
+
+    private ValidationResponse validateFromSnapshot(CatalogSnapshot snapshot, ValidationRequest request) {
+        boolean valid = snapshot.containsCombination(request.subjectId(), request.verbId(), request.objectId());
+
+        String sentence = formatSentence(
+                Objects.requireNonNullElse(snapshot.wordText(request.subjectId()), UNKNOWN_SUBJECT),
+                Objects.requireNonNullElse(snapshot.wordText(request.verbId()), UNKNOWN_VERB),
+                Objects.requireNonNullElse(snapshot.wordText(request.objectId()), UNKNOWN_OBJECT)
+        );
+
+        return new ValidationResponse(valid, sentence, valid ? CORRECT_MESSAGE : INCORRECT_MESSAGE);
+    }
+
+    private Specification<AllowedCombination> toSpecification(CombinationFilter filter) {
+        List<Specification<AllowedCombination>> specifications = new ArrayList<>();
+        if (filter.verbId() != null) {
+            specifications.add(CombinationSpecifications.hasVerb(filter.verbId()));
+        }
+        if (filter.subjectId() != null) {
+            specifications.add(CombinationSpecifications.hasSubject(filter.subjectId()));
+        }
+        if (filter.objectId() != null) {
+            specifications.add(CombinationSpecifications.hasObject(filter.objectId()));
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            specifications.add(CombinationSpecifications.sentenceContains(filter.text()));
+        }
+        return Specification.allOf(specifications);
+    }
+
     private Word findWordOrThrow(Long wordId, String wordType) {
         return wordRepository.findById(wordId)
                 .orElseThrow(() -> new NoSuchElementException(
@@ -135,6 +452,23 @@ public class CombinationService {
                 ));
     }
 
+    /**
+     * A bulk delete cannot tell an unknown word apart from a word without combinations,
+     * so the word is only looked up when nothing was deleted.
+     */
+    private void verifyWordExistsIfNothingDeleted(int deleted, Long wordId, String wordType) {
+        if (deleted == 0 && !wordRepository.existsById(wordId)) {
+            throw new NoSuchElementException(wordType + " word not found with ID: " + wordId);
+        }
+    }
+
+    private int publishIfDeleted(int deleted) {
+        if (deleted > 0) {
+            eventPublisher.publishEvent(CatalogChangedEvent.combinationsChanged());
+        }
+        return deleted;
+    }
+
     private void validateCombinationDoesNotExist(CombinationRequest request, Word subject, Word verb, Word object) {
         if (combinationRepository.findBySubjectIdAndVerbIdAndObjectId(
                 request.getSubjectId(), request.getVerbId(), request.getObjectId()).isPresent()) {
@@ -145,7 +479,7 @@ public class CombinationService {
         }
     }
 
-    private Map<Long, Word> fetchWordsAsMap(List<Long> subjectIds, List<Long> objectIds) {
+    private Map<Long, Word> fetchWordsAsMap(Collection<Long> subjectIds, Collection<Long> objectIds) {
         List<Long> allIds = new ArrayList<>(subjectIds);
         allIds.addAll(objectIds);
 
@@ -156,8 +490,8 @@ public class CombinationService {
 
     private List<AllowedCombination> buildCombinationsToSave(
             Word verb,
-            List<Long> subjectIds,
-            List<Long> objectIds,
+            Collection<Long> subjectIds,
+            Collection<Long> objectIds,
             Map<Long, Word> wordMap) {
 
         List<AllowedCombination> combinationsToSave = new ArrayList<>();
@@ -183,37 +517,30 @@ public class CombinationService {
         return combinationRepository.findBySubjectIdAndVerbIdAndObjectId(subjectId, verbId, objectId).isEmpty();
     }
 
-    private CombinationGrouping groupCombinationsByVerb(List<AllowedCombination> combinations) {
-        CombinationGrouping grouping = new CombinationGrouping();
-
-        for (AllowedCombination combo : combinations) {
-            Long verbId = combo.getVerb().getId();
-            Long subjectId = combo.getSubject().getId();
-            Long objectId = combo.getObject().getId();
-
-            grouping.verbWords.put(verbId, combo.getVerb());
-            grouping.verbToSubjectIds.computeIfAbsent(verbId, k -> new HashSet<>()).add(subjectId);
-            grouping.verbToObjectIds.computeIfAbsent(verbId, k -> new HashSet<>()).add(objectId);
-            grouping.allSubjectIds.add(subjectId);
-            grouping.allObjectIds.add(objectId);
-        }
-
-        return grouping;
+    private VerbSuggestion loadVerbSuggestion(Long verbId) {
+        return summaryRepository.findWithVerbByVerbId(verbId)
+                .map(this::toVerbSuggestion)
+                .orElseGet(() -> {
+                    Word verb = findWordOrThrow(verbId, "Verb");
+                    return new VerbSuggestion(verb.getId(), verb.getText(), List.of(), List.of());
+                });
     }
 
-    private List<VerbSuggestion> buildVerbSuggestions(CombinationGrouping grouping) {
-        return grouping.verbWords.values().stream()
-                .map(verb -> new VerbSuggestion(
-                        verb.getId(),
-                        verb.getText(),
-                        grouping.verbToSubjectIds.getOrDefault(verb.getId(), Collections.emptySet()).stream().toList(),
-                        grouping.verbToObjectIds.getOrDefault(verb.getId(), Collections.emptySet()).stream().toList()
-                ))
-                .collect(Collectors.toList());
+    private VerbSuggestion toVerbSuggestion(VerbCombinationSummary summary) {
+        return new VerbSuggestion(
+                summary.getVerbId(),
+                summary.getVerb().getText(),
+                summary.getSubjectIds(),
+                summary.getObjectIds()
+        );
     }
 
     private List<WordReference> fetchWordReferences(Set<Long> wordIds) {
-        return wordRepository.findAllById(wordIds).stream()
+        return toWordReferences(wordRepository.findAllById(wordIds));
+    }
+
+    private List<WordReference> toWordReferences(List<Word> words) {
+        return words.stream()
                 .map(WordReference::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -244,12 +571,4 @@ public class CombinationService {
     private String formatSentence(String subject, String verb, String object) {
         return String.format("%s %s %s", subject, verb, object);
     }
-
-    private static class CombinationGrouping {
-        Map<Long, Set<Long>> verbToSubjectIds = new HashMap<>();
-        Map<Long, Set<Long>> verbToObjectIds = new HashMap<>();
-        Map<Long, Word> verbWords = new HashMap<>();
-        Set<Long> allSubjectIds = new HashSet<>();
-        Set<Long> allObjectIds = new HashSet<>();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,249 @@
+package fi.vnest.speechtherapy.api.service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable inverted indexes over the allowed combinations:
+ * (subject, object) to compatible verbs and (subject, verb) to compatible objects.
+ *
+ * Each index is an open-addressing hash table keyed by the two word IDs packed into one long, pointing into a
+ * shared array of sorted value IDs, so a lookup is one hash probe and a copy of the result regardless of the
+ * catalog size. Built by CatalogSnapshotService from the same streamed rows as the snapshot file, or from a
+ * mapped snapshot on startup.
+ */
+final class CompatibilityIndex {
+
+    private final PairIndex verbsBySubjectAndObject;
+    private final PairIndex objectsBySubjectAndVerb;
+    private final long[] wordIds;
+    private final String[] wordTexts;
+
+    private CompatibilityIndex(PairIndex verbsBySubjectAndObject, PairIndex objectsBySubjectAndVerb,
+                               long[] wordIds, String[] wordTexts) {
+        this.verbsBySubjectAndObject = verbsBySubjectAndObject;
+        this.objectsBySubjectAndVerb = objectsBySubjectAndVerb;
+        this.wordIds = wordIds;
+        this.wordTexts = wordTexts;
+    }
+
+    /**
+     * Indexes all words and combinations of a mapped snapshot.
+     *
+     * @throws IllegalArgumentException if a word ID doesn't fit in 32 bits.
+     */
+    static CompatibilityIndex build(CatalogSnapshot snapshot) {
+        Builder builder = new Builder();
+        for (int i = 0; i < snapshot.wordCount(); i++) {
+            long wordId = snapshot.wordIdAt(i);
+            builder.addWord(wordId, snapshot.wordText(wordId));
+        }
+        for (int i = 0; i < snapshot.tripleCount(); i++) {
+            builder.addCombination(snapshot.verbIdAt(i), snapshot.subjectIdAt(i), snapshot.objectIdAt(i));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the IDs of the verbs allowed between the subject and the object, in ascending order.
+     */
+    long[] verbsFor(long subjectId, long objectId) {
+        return verbsBySubjectAndObject.get(subjectId, objectId);
+    }
+
+    /**
+     * Returns the IDs of the objects allowed after the subject and the verb, in ascending order.
+     */
+    long[] objectsFor(long subjectId, long verbId) {
+        return objectsBySubjectAndVerb.get(subjectId, verbId);
+    }
+
+    /**
+     * Returns the text of a word, or null if the word isn't in the index.
+     */
+    String wordText(long wordId) {
+        int index = Arrays.binarySearch(wordIds, wordId);
+        return index < 0 ? null : wordTexts[index];
+    }
+
+    /**
+     * Collects streamed rows into primitive arrays. Words must be added in ascending ID order.
+     */
+    static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private long[] wordIds = new long[INITIAL_CAPACITY];
+        private String[] wordTexts = new String[INITIAL_CAPACITY];
+        private int wordCount;
+        private long[] subjectIds = new long[INITIAL_CAPACITY];
+        private long[] verbIds = new long[INITIAL_CAPACITY];
+        private long[] objectIds = new long[INITIAL_CAPACITY];
+        private int combinationCount;
+
+        void addWord(long id, String text) {
+            if (wordCount > 0 && id <= wordIds[wordCount - 1]) {
+                throw new IllegalArgumentException("Words must be added in ascending ID order");
+            }
+            if (wordCount == wordIds.length) {
+                wordIds = Arrays.copyOf(wordIds, wordCount * 2);
+                wordTexts = Arrays.copyOf(wordTexts, wordCount * 2);
+            }
+            wordIds[wordCount] = id;
+            wordTexts[wordCount] = text;
+            wordCount++;
+        }
+
+        void addCombination(long verbId, long subjectId, long objectId) {
+            if (combinationCount == subjectIds.length) {
+                subjectIds = Arrays.copyOf(subjectIds, combinationCount * 2);
+                verbIds = Arrays.copyOf(verbIds, combinationCount * 2);
+                objectIds = Arrays.copyOf(objectIds, combinationCount * 2);
+            }
+            subjectIds[combinationCount] = subjectId;
+            verbIds[combinationCount] = verbId;
+            objectIds[combinationCount] = objectId;
+            combinationCount++;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a word ID doesn't fit in 32 bits.
+         */
+        CompatibilityIndex build() {
+            long[] subjects = Arrays.copyOf(subjectIds, combinationCount);
+            long[] verbs = Arrays.copyOf(verbIds, combinationCount);
+            long[] objects = Arrays.copyOf(objectIds, combinationCount);
+
+            return new CompatibilityIndex(
+                    PairIndex.build(subjects, objects, verbs),
+                    PairIndex.build(subjects, verbs, objects),
+                    Arrays.copyOf(wordIds, wordCount),
+                    Arrays.copyOf(wordTexts, wordCount)
+            );
+        }
+    }
+
+    /**
+     * Hash table from a pair of IDs to a sorted slice of the values array.
+     * Slots are empty while their end offset is 0, since every stored key has at least one value.
+     */
+    private static final class PairIndex {
+
+        private static final long[] NONE = new long[0];
+
+        private final long[] keys;
+        private final int[] starts;
+        private final int[] ends;
+        private final long[] values;
+        private final int mask;
+
+        private PairIndex(long[] keys, int[] starts, int[] ends, long[] values) {
+            this.keys = keys;
+            this.starts = starts;
+            this.ends = ends;
+            this.values = values;
+            this.mask = keys.length - 1;
+        }
+
+        static PairIndex build(long[] firstIds, long[] secondIds, long[] valueIds) {
+            int count = firstIds.length;
+            long[] packed = new long[count];
+            for (int i = 0; i < count; i++) {
+                packed[i] = pack(firstIds[i], secondIds[i]);
+            }
+
+            // Sizing the table by the distinct key count keeps it at most half full
+            long[] sorted = packed.clone();
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    distinct++;
+                }
+            }
+            int capacity = Integer.highestOneBit(Math.max(distinct, 1) * 2 - 1) << 1;
+
+            long[] keys = new long[capacity];
+            int[] starts = new int[capacity];
+            int[] ends = new int[capacity];
+            int[] slotOf = new int[count];
+            int[] counts = new int[capacity];
+            PairIndex index = new PairIndex(keys, starts, ends, new long[count]);
+
+            // Count the values of each key, using ends as the occupied marker while counting
+            for (int i = 0; i < count; i++) {
+                int slot = index.slotFor(packed[i]);
+                if (ends[slot] == 0) {
+                    keys[slot] = packed[i];
+                    ends[slot] = 1;
+                }
+                counts[slot]++;
+                slotOf[i] = slot;
+            }
+
+            int offset = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (counts[slot] != 0) {
+                    starts[slot] = offset;
+                    offset += counts[slot];
+                    ends[slot] = starts[slot];
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                int slot = slotOf[i];
+                index.values[ends[slot]++] = valueIds[i];
+            }
+            for (int slot = 0; slot < capacity; slot++) {
+                if (ends[slot] != 0) {
+                    Arrays.sort(index.values, starts[slot], ends[slot]);
+                }
+            }
+            return index;
+        }
+
+        long[] get(long firstId, long secondId) {
+            if (!fits(firstId) || !fits(secondId)) {
+                return NONE;
+            }
+
+            int slot = slotFor(pack(firstId, secondId));
+            if (ends[slot] == 0) {
+                return NONE;
+            }
+            return Arrays.copyOfRange(values, starts[slot], ends[slot]);
+        }
+
+        /**
+         * Returns the slot holding the key, or the empty slot where it would be inserted.
+         */
+        private int slotFor(long key) {
+            int slot = hash(key) & mask;
+            while (ends[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static long pack(long firstId, long secondId) {
+            if (!fits(firstId) || !fits(secondId)) {
+                throw new IllegalArgumentException("Word ID out of range for the compatibility index: "
+                        + Math.max(firstId, secondId));
+            }
+            return (firstId << 32) | secondId;
+        }
+
+        private static boolean fits(long id) {
+            return id >= 0 && id <= 0xFFFFFFFFL;
+        }
+
+        private static int hash(long key) {
+            // Finalizer of MurmurHash3, spreads sequential IDs over the whole table
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            key *= 0xc4ceb93fe53e87e5L;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package fi.vnest.speechtherapy.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores the first response of each idempotency key.
+ * The database is the source of truth shared by all instances; completed responses are also kept in a
+ * bounded local map, so retries hitting the same instance are replayed without a database round trip.
+ * A claimed key is leased for a few minutes until its response is stored, so a crashed request does not
+ * block the key for the whole TTL.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final String CLAIM_SQL = "INSERT INTO vnest.idempotency_key (idempotency_key, fingerprint, expires_at) "
+            + "VALUES (?, ?, now() + make_interval(secs => ?)) "
+            + "ON CONFLICT (idempotency_key) DO UPDATE SET fingerprint = EXCLUDED.fingerprint, status_code = NULL, "
+            + "content_type = NULL, body = NULL, created_at = now(), expires_at = EXCLUDED.expires_at "
+            + "WHERE idempotency_key.expires_at < now()";
+    private static final String SELECT_SQL = "SELECT fingerprint, status_code, content_type, body, expires_at "
+            + "FROM vnest.idempotency_key WHERE idempotency_key = ?";
+    private static final String COMPLETE_SQL = "UPDATE vnest.idempotency_key "
+            + "SET status_code = ?, content_type = ?, body = ?, expires_at = now() + make_interval(secs => ?) "
+            + "WHERE idempotency_key = ? AND fingerprint = ?";
+    private static final String RELEASE_SQL = "DELETE FROM vnest.idempotency_key "
+            + "WHERE idempotency_key = ? AND fingerprint = ? AND status_code IS NULL";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM vnest.idempotency_key WHERE expires_at < now()";
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+    private static final int MAX_LOCAL_ENTRIES = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final ConcurrentMap<String, StoredResponse> localResponses = new ConcurrentHashMap<>();
+    private final AtomicLong nextCleanupMillis = new AtomicLong();
+
+    @Autowired
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, @Value("${vnest.idempotency.ttl:24h}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+    }
+
+    public enum Outcome {
+        /** The caller owns the key and must either complete or release it. */
+        CLAIMED,
+        /** The key was used for a request that is still being processed. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH,
+        /** The response of the key is available for replay. */
+        COMPLETED
+    }
+
+    public record StoredResponse(String fingerprint, int statusCode, String contentType, byte[] body, Instant expiresAt) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    /**
+     * Claims the key for a request, unless it is already in use.
+     *
+     * @param fingerprint Hash of the request, to detect a key reused for a different request.
+     */
+    public Claim claim(String key, String fingerprint) {
+        StoredResponse local = localResponses.get(key);
+        if (local != null) {
+            if (local.expiresAt().isAfter(Instant.now())) {
+                return completedOrMismatch(local, fingerprint);
+            }
+            localResponses.remove(key, local);
+        }
+
+        deleteExpiredKeysPeriodically();
+
+        if (jdbcTemplate.update(CLAIM_SQL, key, fingerprint, LEASE.toSeconds()) == 1) {
+            return new Claim(Outcome.CLAIMED, null);
+        }
+
+        List<StoredResponse> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new StoredResponse(
+                rs.getString("fingerprint"),
+                rs.getInt("status_code"),
+                rs.getString("content_type"),
+                rs.getBytes("body"),
+                rs.getTimestamp("expires_at").toInstant()
+        ), key);
+
+        if (rows.isEmpty()) {
+            // Deleted between the two statements, e.g. released by a failed request
+            return jdbcTemplate.update(CLAIM_SQL, key, fingerprint, LEASE.toSeconds()) == 1
+                    ? new Claim(Outcome.CLAIMED, null)
+                    : new Claim(Outcome.IN_PROGRESS, null);
+        }
+
+        StoredResponse stored = rows.get(0);
+        if (!stored.fingerprint().equals(fingerprint)) {
+            return new Claim(Outcome.MISMATCH, null);
+        }
+        if (stored.statusCode() == 0) {
+            // No status code stored yet (SQL NULL)
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+
+        cacheLocally(key, stored);
+        return new Claim(Outcome.COMPLETED, stored);
+    }
+
+    /**
+     * Stores the response of a claimed key for replay.
+     */
+    public void complete(String key, String fingerprint, int statusCode, String contentType, byte[] body) {
+        jdbcTemplate.update(COMPLETE_SQL, statusCode, contentType, body, ttl.toSeconds(), key, fingerprint);
+        cacheLocally(key, new StoredResponse(fingerprint, statusCode, contentType, body, Instant.now().plus(ttl)));
+    }
+
+    /**
+     * Gives up a claimed key, so the request can be retried.
+     */
+    public void release(String key, String fingerprint) {
+        jdbcTemplate.update(RELEASE_SQL, key, fingerprint);
+    }
+
+    private static Claim completedOrMismatch(StoredResponse response, String fingerprint) {
+        return response.fingerprint().equals(fingerprint)
+                ? new Claim(Outcome.COMPLETED, response)
+                : new Claim(Outcome.MISMATCH, null);
+    }
+
+    private void cacheLocally(String key, StoredResponse response) {
+        if (localResponses.size() >= MAX_LOCAL_ENTRIES) {
+            Instant now = Instant.now();
+            localResponses.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+        }
+        if (localResponses.size() < MAX_LOCAL_ENTRIES) {
+            localResponses.put(key, response);
+        }
+    }
+
+    private void deleteExpiredKeysPeriodically() {
+        long now = System.currentTimeMillis();
+        long next = nextCleanupMillis.get();
+
+        if (now >= next && nextCleanupMillis.compareAndSet(next, now + CLEANUP_INTERVAL.toMillis())) {
+            jdbcTemplate.update(DELETE_EXPIRED_SQL);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package fi.vnest.speechtherapy.api.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same expensive computation.
+ * The first caller for a key computes the value on its own thread; callers arriving while it runs
+ * wait for the same future instead of repeating the work. Nothing is cached after completion.
+ *
+ * Counts are published as the "vnest.singleflight.calls" metric, tagged with the flight name and
+ * whether the call computed the value or was coalesced into another call.
+ */
+public class SingleFlight<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentMap<Object, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("vnest.singleflight.calls", computed, LongAdder::doubleValue)
+                .tag("name", name)
+                .tag("outcome", "computed")
+                .register(meterRegistry);
+        FunctionCounter.builder("vnest.singleflight.calls", coalesced, LongAdder::doubleValue)
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of the computation for the key, joining an in-flight computation if there is one.
+     * Exceptions thrown by the computation are rethrown to every waiting caller.
+     *
+     * @param key Identifies equivalent computations; may be null.
+     */
+    public V execute(K key, Supplier<V> computation) {
+        Object mapKey = key != null ? key : NULL_KEY;
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(mapKey, future);
+
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        computed.increment();
+        try {
+            V value = computation.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(mapKey, future);
+        }
+    }
+
+    /**
+     * Detaches all in-flight computations, so callers arriving after a write start a fresh computation
+     * instead of joining one that may have read the data before the write.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    public long computedCount() {
+        return computed.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
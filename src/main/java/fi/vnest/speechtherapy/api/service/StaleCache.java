@@ -0,0 +1,167 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.web.Deadline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last known good value of catalog reads, so they keep working while the database is slow or down.
+ *
+ * A value is served from memory until it is invalidated by a catalog change or gets older than the maximum age;
+ * then the next read loads it again (concurrent reads share the load). If that load fails with a database error,
+ * the last known good value is served marked stale and a background refresh retries with backoff. Until the
+ * refresh succeeds, reads of that key return the stale value right away instead of waiting for the database again.
+ * Reads with no value to fall back on rethrow the error.
+ *
+ * Published as the "vnest.cache.stale.served" metric and the "vnest.cache.refreshing" gauge, tagged with the name.
+ */
+public class StaleCache<K, V> {
+
+    static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+    static final Duration MIN_RETRY_DELAY = Duration.ofSeconds(1);
+    static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(30);
+    static final Duration REFRESH_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Logger log = LoggerFactory.getLogger(StaleCache.class);
+    private static final Object NULL_KEY = new Object();
+    private static final ScheduledExecutorService SHARED_REFRESHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stale-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final Duration maxAge;
+    private final ScheduledExecutorService refresher;
+    private final SingleFlight<K, V> flight;
+    private final ConcurrentMap<Object, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final LongAdder staleServed = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+
+    public StaleCache(String name, MeterRegistry meterRegistry) {
+        this(name, DEFAULT_MAX_AGE, SHARED_REFRESHER, meterRegistry);
+    }
+
+    StaleCache(String name, Duration maxAge, ScheduledExecutorService refresher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxAge = maxAge;
+        this.refresher = refresher;
+        this.flight = new SingleFlight<>(name, meterRegistry);
+
+        FunctionCounter.builder("vnest.cache.stale.served", staleServed, LongAdder::doubleValue)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("vnest.cache.refreshing", refreshing, ConcurrentMap::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the value for the key, loading it if there is no current value.
+     *
+     * @param key Identifies the value; may be null.
+     * @param loader Reads the value from the database. Errors other than database errors are rethrown as is.
+     */
+    public Cached<V> get(K key, Supplier<V> loader) {
+        Object mapKey = key != null ? key : NULL_KEY;
+        Entry<V> entry = entries.get(mapKey);
+
+        if (entry != null && isCurrent(entry)) {
+            return new Cached<>(entry.value(), false, entry.loadedAt());
+        }
+        if (entry != null && refreshing.containsKey(mapKey)) {
+            return serveStale(entry);
+        }
+
+        long loadGeneration = generation.get();
+        try {
+            V value = flight.execute(key, loader);
+            Entry<V> loaded = new Entry<>(value, Instant.now(), loadGeneration);
+            entries.put(mapKey, loaded);
+            return new Cached<>(value, false, loaded.loadedAt());
+        } catch (DataAccessException | TransactionException e) {
+            if (entry == null) {
+                throw e;
+            }
+
+            log.warn("Serving stale {} after a failed read: {}", name, e.getMessage());
+            scheduleRefresh(key, mapKey, loader, MIN_RETRY_DELAY);
+            return serveStale(entry);
+        }
+    }
+
+    /**
+     * Marks all values as outdated after a catalog change. They are kept as fallback until reloaded.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        flight.forgetAll();
+    }
+
+    public long staleServedCount() {
+        return staleServed.sum();
+    }
+
+    boolean isRefreshing(K key) {
+        return refreshing.containsKey(key != null ? key : NULL_KEY);
+    }
+
+    private boolean isCurrent(Entry<V> entry) {
+        return entry.generation() == generation.get() && entry.loadedAt().plus(maxAge).isAfter(Instant.now());
+    }
+
+    private Cached<V> serveStale(Entry<V> entry) {
+        staleServed.increment();
+        return new Cached<>(entry.value(), true, entry.loadedAt());
+    }
+
+    private void scheduleRefresh(K key, Object mapKey, Supplier<V> loader, Duration delay) {
+        if (refreshing.putIfAbsent(mapKey, Boolean.TRUE) == null) {
+            refresher.schedule(() -> refresh(key, mapKey, loader, delay), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refresh(K key, Object mapKey, Supplier<V> loader, Duration delay) {
+        long loadGeneration = generation.get();
+        Deadline.start(REFRESH_TIMEOUT);
+        try {
+            V value = loader.get();
+            entries.put(mapKey, new Entry<>(value, Instant.now(), loadGeneration));
+            refreshing.remove(mapKey);
+            log.info("Refreshed stale {}", name);
+        } catch (DataAccessException | TransactionException e) {
+            Duration nextDelay = delay.multipliedBy(2);
+            if (nextDelay.compareTo(MAX_RETRY_DELAY) > 0) {
+                nextDelay = MAX_RETRY_DELAY;
+            }
+            Duration retryDelay = nextDelay;
+            refresher.schedule(() -> refresh(key, mapKey, loader, retryDelay), retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // The value no longer exists (e.g. its verb was deleted), so there is nothing left to serve
+            entries.remove(mapKey);
+            refreshing.remove(mapKey);
+        } finally {
+            Deadline.clear();
+        }
+    }
+
+    private record Entry<V>(V value, Instant loadedAt, long generation) {
+    }
+}
@@ -0,0 +1,33 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.ValidationRequest;
+
+import java.time.Instant;
+
+/**
+ * A single sentence validation by a patient, recorded for progress tracking.
+ */
+public record ValidationAttempt(
+        Instant attemptedAt,
+        String patientId,
+        String sessionId,
+        long subjectId,
+        long verbId,
+        long objectId,
+        boolean correct,
+        long latencyMicros
+) {
+
+    public static ValidationAttempt of(ValidationRequest request, boolean correct, long latencyNanos) {
+        return new ValidationAttempt(
+                Instant.now(),
+                request.patientId(),
+                request.sessionId(),
+                request.subjectId(),
+                request.verbId(),
+                request.objectId(),
+                correct,
+                latencyNanos / 1000
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.WordSearchResult;
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.repository.WordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory autocomplete index over all words.
+ * The trie is built lazily on the first search and dropped whenever words change.
+ */
+@Component
+public class WordSearchIndex {
+
+    private final WordRepository wordRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile WordTrie trie;
+
+    @Autowired
+    public WordSearchIndex(WordRepository wordRepository) {
+        this.wordRepository = wordRepository;
+    }
+
+    /**
+     * Finds words whose text starts with the query, tolerating case differences and small typos.
+     *
+     * @param query Text typed by the user.
+     * @param type The type to filter by (optional).
+     * @param limit Maximum number of results.
+     */
+    public List<WordSearchResult> search(String query, WordType type, int limit) {
+        return currentTrie().search(Word.normalize(query), type, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsWords()) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        trie = null;
+    }
+
+    private WordTrie currentTrie() {
+        WordTrie current = trie;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = trie;
+            if (current == null) {
+                long buildGeneration = generation.get();
+                current = WordTrie.build(wordRepository.findAll());
+
+                // Keep the result only if no write happened while the words were loaded
+                if (generation.get() == buildGeneration) {
+                    trie = current;
+                }
+            }
+        }
+
+        return current;
+    }
+}
@@ -2,14 +2,27 @@ package fi.vnest.speechtherapy.api.service;
 
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.repository.WordCombinationCount;
 import fi.vnest.speechtherapy.api.repository.WordRepository;
+import fi.vnest.speechtherapy.api.dto.BootstrapResponse;
+import fi.vnest.speechtherapy.api.dto.WordBulkMapping;
+import fi.vnest.speechtherapy.api.dto.WordBulkResponse;
 import fi.vnest.speechtherapy.api.dto.WordRequest;
+import fi.vnest.speechtherapy.api.dto.WordResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Business logic for managing Word entities.
@@ -18,24 +31,58 @@ import java.util.NoSuchElementException;
 public class WordService {
 
     private final WordRepository wordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StaleCache<WordType, List<WordResponse>> wordsCache;
 
     @Autowired
-    public WordService(WordRepository wordRepository) {
+    public WordService(WordRepository wordRepository, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.wordRepository = wordRepository;
+        this.eventPublisher = eventPublisher;
+        this.wordsCache = new StaleCache<>("words", meterRegistry);
     }
 
     /**
      * Retrieves all words, optionally filtered by type.
+     * Served from memory until the catalog changes; concurrent loads for the same type share a single query.
+     * While the database is unavailable, the last loaded words are returned marked stale.
+     * The list is shared by all callers, so it holds detached DTOs and can't be modified.
      *
      * @param type The type to filter by (optional).
-     * @return A list of Word entities.
+     * @return A list of word DTOs.
      */
-    public List<Word> findAll(WordType type) {
-        if (type != null) {
-            return wordRepository.findByType(type);
+    public Cached<List<WordResponse>> findAll(WordType type) {
+        return wordsCache.get(type, () -> loadWords(type));
+    }
+
+    /**
+     * Retrieves one page of words ordered by ID, optionally filtered by type.
+     */
+    public Page<Word> findPage(WordType type, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        return type != null
+                ? wordRepository.findByType(type, pageable)
+                : wordRepository.findAll(pageable);
+    }
+
+    /**
+     * Retrieves all words grouped by type with the number of combinations of each verb, for the admin console.
+     * Read with a single query; verbs without combinations are left out of the counts.
+     */
+    public BootstrapResponse getBootstrap() {
+        Map<WordType, List<WordResponse>> words = new EnumMap<>(WordType.class);
+        for (WordType type : WordType.values()) {
+            words.put(type, new ArrayList<>());
         }
+        Map<Long, Integer> combinationCounts = new LinkedHashMap<>();
 
-        return wordRepository.findAll();
+        for (WordCombinationCount row : wordRepository.findAllWithCombinationCount()) {
+            words.get(row.word().getType()).add(WordResponse.fromEntity(row.word()));
+            if (row.combinationCount() != null) {
+                combinationCounts.put(row.word().getId(), row.combinationCount());
+            }
+        }
+
+        return new BootstrapResponse(words, combinationCounts);
     }
 
     /**
@@ -46,7 +93,53 @@ public class WordService {
     @Transactional
     public Word createWord(WordRequest request) {
         Word word = new Word(request.getText(), request.getType());
-        return wordRepository.save(word);
+        Word saved = wordRepository.save(word);
+        eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+        return saved;
+    }
+
+    /**
+     * Creates or patches many words at once, deduplicating by normalized text and type.
+     * Existing words are looked up with a single query. An existing word whose text differs from the
+     * request (e.g. only by casing) is patched to the requested text; new words are inserted in JDBC batches.
+     * Requests that normalize to the same word map to the same ID, and the last one decides its text.
+     *
+     * @param requests DTOs containing word text and type.
+     * @return ID mappings in request order, with counts of created, updated and unchanged words.
+     */
+    @Transactional
+    public WordBulkResponse upsertWords(List<WordRequest> requests) {
+        Map<WordKey, WordRequest> latestRequestByKey = new LinkedHashMap<>();
+        for (WordRequest request : requests) {
+            latestRequestByKey.put(WordKey.of(request), request);
+        }
+
+        Map<WordKey, Word> existingByKey = findExistingWords(latestRequestByKey.keySet());
+        Map<WordKey, Word> wordByKey = new HashMap<>();
+        Map<WordKey, WordBulkMapping.Status> statusByKey = new HashMap<>();
+        List<Word> wordsToInsert = new ArrayList<>();
+
+        latestRequestByKey.forEach((key, request) -> {
+            Word word = existingByKey.get(key);
+
+            if (word == null) {
+                word = new Word(request.getText(), request.getType());
+                wordsToInsert.add(word);
+                statusByKey.put(key, WordBulkMapping.Status.CREATED);
+            } else if (!word.getText().equals(request.getText())) {
+                word.setText(request.getText());
+                statusByKey.put(key, WordBulkMapping.Status.UPDATED);
+            } else {
+                statusByKey.put(key, WordBulkMapping.Status.UNCHANGED);
+            }
+
+            wordByKey.put(key, word);
+        });
+
+        wordRepository.saveAll(wordsToInsert);
+        eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+
+        return buildBulkResponse(requests, wordByKey, statusByKey);
     }
 
     /**
@@ -64,7 +157,9 @@ public class WordService {
         word.setText(request.getText());
         word.setType(request.getType());
 
-        return wordRepository.save(word);
+        Word saved = wordRepository.save(word);
+        eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+        return saved;
     }
 
     /**
@@ -74,10 +169,70 @@ public class WordService {
      */
     @Transactional
     public void deleteWord(Long id) {
-        if (!wordRepository.existsById(id)) {
+        if (wordRepository.deleteWordById(id) == 0) {
             throw new NoSuchElementException("Word not found with ID: " + id);
         }
 
-        wordRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.wordsChanged());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsWords()) {
+            wordsCache.invalidateAll();
+        }
+    }
+
+    private List<WordResponse> loadWords(WordType type) {
+        List<Word> words = type != null
+                ? wordRepository.findByType(type)
+                : wordRepository.findAll();
+
+        return words.stream()
+                .map(WordResponse::fromEntity)
+                .toList();
+    }
+
+    private Map<WordKey, Word> findExistingWords(Set<WordKey> keys) {
+        Set<String> normalizedTexts = keys.stream()
+                .map(WordKey::normalizedText)
+                .collect(Collectors.toSet());
+
+        return wordRepository.findByNormalizedTextIn(normalizedTexts).stream()
+                .filter(word -> keys.contains(WordKey.of(word)))
+                .collect(Collectors.toMap(WordKey::of, Function.identity()));
+    }
+
+    private WordBulkResponse buildBulkResponse(
+            List<WordRequest> requests,
+            Map<WordKey, Word> wordByKey,
+            Map<WordKey, WordBulkMapping.Status> statusByKey) {
+
+        List<WordBulkMapping> mappings = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            WordKey key = WordKey.of(requests.get(i));
+            Word word = wordByKey.get(key);
+            mappings.add(new WordBulkMapping(i, word.getId(), word.getText(), word.getType(), statusByKey.get(key)));
+        }
+
+        Map<WordBulkMapping.Status, Long> counts = statusByKey.values().stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        return new WordBulkResponse(
+                counts.getOrDefault(WordBulkMapping.Status.CREATED, 0L).intValue(),
+                counts.getOrDefault(WordBulkMapping.Status.UPDATED, 0L).intValue(),
+                counts.getOrDefault(WordBulkMapping.Status.UNCHANGED, 0L).intValue(),
+                mappings
+        );
+    }
+
+    private record WordKey(String normalizedText, WordType type) {
+        static WordKey of(WordRequest request) {
+            return new WordKey(Word.normalize(request.getText()), request.getType());
+        }
+
+        static WordKey of(Word word) {
+            return new WordKey(word.getNormalizedText(), word.getType());
+        }
     }
 }
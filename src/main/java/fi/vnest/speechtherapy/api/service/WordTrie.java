@@ -0,0 +1,136 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.WordSearchResult;
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie over normalized word texts, used for autocomplete.
+ * Matching is done on the normalized (case folded) text and tolerates typos:
+ * a word matches when some prefix of it is within a small Levenshtein distance of the query.
+ */
+final class WordTrie {
+
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::distance)
+            .thenComparingInt(match -> match.entry().key().length())
+            .thenComparing(match -> match.entry().key())
+            .thenComparing(match -> match.entry().id());
+
+    private final Node root = new Node();
+
+    private WordTrie() {
+    }
+
+    static WordTrie build(Collection<Word> words) {
+        WordTrie trie = new WordTrie();
+        for (Word word : words) {
+            trie.insert(word);
+        }
+        return trie;
+    }
+
+    /**
+     * Returns the best matches for a normalized query: exact prefix matches first,
+     * then matches with typos, shorter words first.
+     *
+     * @param normalizedQuery Query normalized with Word.normalize.
+     * @param type Optional word type filter.
+     * @param limit Maximum number of results.
+     */
+    List<WordSearchResult> search(String normalizedQuery, WordType type, int limit) {
+        if (normalizedQuery == null || normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] firstRow = new int[normalizedQuery.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        collect(root, normalizedQuery, firstRow, normalizedQuery.length(), maxEditsFor(normalizedQuery.length()), type, matches);
+
+        return matches.stream()
+                .sorted(RANKING)
+                .limit(limit)
+                .map(match -> new WordSearchResult(
+                        match.entry().id(), match.entry().text(), match.entry().type(), match.distance()))
+                .toList();
+    }
+
+    /**
+     * Short queries must match exactly, longer ones allow one or two typos.
+     */
+    static int maxEditsFor(int queryLength) {
+        if (queryLength <= 2) {
+            return 0;
+        }
+        return queryLength <= 5 ? 1 : 2;
+    }
+
+    private void insert(Word word) {
+        String key = Word.normalize(word.getText());
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.entries.add(new Entry(word.getId(), word.getText(), word.getType(), key));
+    }
+
+    /**
+     * Walks the trie keeping one Levenshtein row per node. {@code best} is the smallest distance between the
+     * query and any prefix on the current path, so once it is within budget the whole subtree matches.
+     */
+    private void collect(Node node, String query, int[] row, int best, int maxEdits, WordType type, List<Match> matches) {
+        if (best <= maxEdits) {
+            for (Entry entry : node.entries) {
+                if (type == null || entry.type() == type) {
+                    matches.add(new Match(entry, best));
+                }
+            }
+        }
+
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            int[] nextRow = nextRow(row, query, child.getKey());
+            int childBest = Math.min(best, nextRow[query.length()]);
+
+            if (childBest <= maxEdits || min(nextRow) <= maxEdits) {
+                collect(child.getValue(), query, nextRow, childBest, maxEdits, type, matches);
+            }
+        }
+    }
+
+    private static int[] nextRow(int[] previous, String query, char c) {
+        int[] next = new int[previous.length];
+        next[0] = previous[0] + 1;
+
+        for (int i = 1; i < next.length; i++) {
+            int substitution = previous[i - 1] + (query.charAt(i - 1) == c ? 0 : 1);
+            next[i] = Math.min(substitution, Math.min(next[i - 1] + 1, previous[i] + 1));
+        }
+
+        return next;
+    }
+
+    private static int min(int[] row) {
+        int min = Integer.MAX_VALUE;
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>(1);
+    }
+
+    private record Entry(Long id, String text, WordType type, String key) {
+    }
+
+    private record Match(Entry entry, int distance) {
+    }
+}
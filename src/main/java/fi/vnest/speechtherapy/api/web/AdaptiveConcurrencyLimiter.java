@@ -0,0 +1,105 @@
+package fi.vnest.speechtherapy.api.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to latency, in the style of a gradient limiter.
+ * It compares a short-term latency average with a long-term one: while they are close the limit grows
+ * slowly, and when the short-term latency rises above the long-term one times the tolerance, the limit
+ * shrinks in proportion. Excess requests are then rejected right away instead of queueing behind a slow database.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_WINDOW_WEIGHT = 0.1;
+    private static final double LONG_WINDOW_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+    private boolean sampled;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the given share of the limit is in flight.
+     * Every successful call must be followed by release().
+     *
+     * @param share Fraction of the limit available to this request, e.g. lower for less important requests.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a finished request and adapts the limit to its latency.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    /**
+     * Frees the slot of a finished request without taking its latency into account,
+     * for requests whose latency says nothing about overload (e.g. long-running batch work).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+        if (!sampled) {
+            shortRtt = latencyNanos;
+            longRtt = latencyNanos;
+            sampled = true;
+            return;
+        }
+
+        shortRtt += (latencyNanos - shortRtt) * SHORT_WINDOW_WEIGHT;
+        longRtt += (latencyNanos - longRtt) * LONG_WINDOW_WEIGHT;
+
+        // Let the baseline follow quickly when latency drops back, e.g. after a slow period
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+
+        // Only grow when the current limit is actually being used
+        if (newLimit > limit && inFlightBefore < limit / 2) {
+            return;
+        }
+
+        double smoothed = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
@@ -0,0 +1,85 @@
+package fi.vnest.speechtherapy.api.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many requests of one workload run at the same time.
+ * Requests over the limit wait in a bounded queue for a free slot; when the queue is full or the wait
+ * times out, the request is rejected. Waiting requests still hold a server thread, which is why the queue is small.
+ *
+ * Published metrics, tagged with the bulkhead name: "vnest.bulkhead.active", "vnest.bulkhead.queued"
+ * and "vnest.bulkhead.rejected".
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+
+        Gauge.builder("vnest.bulkhead.active", this, Bulkhead::activeCount).tag("name", name).register(meterRegistry);
+        Gauge.builder("vnest.bulkhead.queued", queued, AtomicInteger::get).tag("name", name).register(meterRegistry);
+        FunctionCounter.builder("vnest.bulkhead.rejected", rejected, LongAdder::doubleValue)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if necessary. Every successful call must be followed by exit().
+     *
+     * @return false if the request was rejected.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int activeCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
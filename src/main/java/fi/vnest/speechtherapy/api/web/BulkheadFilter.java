@@ -0,0 +1,99 @@
+package fi.vnest.speechtherapy.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fi.vnest.speechtherapy.api.config.Workload;
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Separates patient-facing requests (/api/suggestions) from all other API requests (admin work).
+ * Each workload has its own bulkhead of request slots and its own database connection pool
+ * (see DataSourceConfiguration), so a burst of admin work cannot starve therapy sessions.
+ * Requests rejected by a full bulkhead get 503 with a Retry-After header.
+ * The admin bulkhead defaults to the size of the admin pool, so admitted admin requests never wait for a connection;
+ * a larger bulkhead would make the excess requests wait for Hikari's connection timeout instead of being rejected.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String PATIENT_PATH = "/api/suggestions";
+
+    private final Bulkhead patientBulkhead;
+    private final Bulkhead adminBulkhead;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BulkheadFilter(
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper,
+            @Value("${vnest.bulkhead.patient.max-concurrent:100}") int patientMaxConcurrent,
+            @Value("${vnest.bulkhead.patient.max-queued:50}") int patientMaxQueued,
+            @Value("${vnest.bulkhead.patient.max-wait:1s}") Duration patientMaxWait,
+            @Value("${vnest.bulkhead.admin.max-concurrent:${vnest.datasource.admin.maximum-pool-size:10}}") int adminMaxConcurrent,
+            @Value("${vnest.bulkhead.admin.max-queued:10}") int adminMaxQueued,
+            @Value("${vnest.bulkhead.admin.max-wait:2s}") Duration adminMaxWait) {
+        this.patientBulkhead = new Bulkhead("patient", patientMaxConcurrent, patientMaxQueued, patientMaxWait, meterRegistry);
+        this.adminBulkhead = new Bulkhead("admin", adminMaxConcurrent, adminMaxQueued, adminMaxWait, meterRegistry);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        Workload workload = request.getRequestURI().startsWith(PATIENT_PATH) ? Workload.PATIENT : Workload.ADMIN;
+        Bulkhead bulkhead = workload == Workload.PATIENT ? patientBulkhead : adminBulkhead;
+
+        if (!enter(bulkhead)) {
+            reject(response);
+            return;
+        }
+
+        Workload.set(workload);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Workload.clear();
+            bulkhead.exit();
+        }
+    }
+
+    private static boolean enter(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<>(false, "Server is busy, please try again later."));
+    }
+}
@@ -0,0 +1,85 @@
+package fi.vnest.speechtherapy.api.web;
+
+import fi.vnest.speechtherapy.api.config.Workload;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sheds load in front of the controllers with an adaptive concurrency limit shared by all requests.
+ * Patient requests may use the whole limit, admin requests only a share of it, so under pressure
+ * admin traffic is rejected first. Rejections throw OverloadedException, which is turned into
+ * 503 with Retry-After by GlobalExceptionHandler.
+ *
+ * Only patient requests feed their latency to the limiter. Admin requests range from quick reads to 30 s batches,
+ * so their latency would shrink the limit for patient traffic whenever a long admin request finishes.
+ *
+ * Published metrics: "vnest.limiter.limit", "vnest.limiter.in_flight" and "vnest.limiter.rejected"
+ * (tagged with the workload).
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final double adminShare;
+    private final LongAdder patientRejected = new LongAdder();
+    private final LongAdder adminRejected = new LongAdder();
+
+    @Autowired
+    public ConcurrencyLimitInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${vnest.limiter.initial-limit:20}") int initialLimit,
+            @Value("${vnest.limiter.min-limit:5}") int minLimit,
+            @Value("${vnest.limiter.max-limit:200}") int maxLimit,
+            @Value("${vnest.limiter.admin-share:0.5}") double adminShare) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        this.adminShare = adminShare;
+
+        Gauge.builder("vnest.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("vnest.limiter.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+        FunctionCounter.builder("vnest.limiter.rejected", patientRejected, LongAdder::doubleValue)
+                .tag("workload", "patient")
+                .register(meterRegistry);
+        FunctionCounter.builder("vnest.limiter.rejected", adminRejected, LongAdder::doubleValue)
+                .tag("workload", "admin")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        boolean patient = Workload.current() == Workload.PATIENT;
+
+        if (!limiter.tryAcquire(patient ? 1.0 : adminShare)) {
+            (patient ? patientRejected : adminRejected).increment();
+            throw new OverloadedException("Server is overloaded, please try again later.", RETRY_AFTER);
+        }
+
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            if (Workload.current() == Workload.PATIENT) {
+                limiter.release(System.nanoTime() - (long) start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package fi.vnest.speechtherapy.api.web;
+
+import java.time.Duration;
+
+/**
+ * Deadline of the request handled by the current thread.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Returns the deadline of the current thread, or null if it has none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static void start(Duration budget) {
+        CURRENT.set(new Deadline(System.nanoTime() + budget.toNanos()));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Time left until the deadline, negative once it has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+}
@@ -0,0 +1,13 @@
+package fi.vnest.speechtherapy.api.web;
+
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Thrown when a transaction would start after the request deadline has already passed.
+ */
+public class DeadlineExceededException extends TransactionTimedOutException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
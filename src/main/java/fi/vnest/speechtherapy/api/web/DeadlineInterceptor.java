@@ -0,0 +1,65 @@
+package fi.vnest.speechtherapy.api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts the deadline of each API request from the @RequestDeadline of its controller method.
+ * The deadline is enforced by DeadlineAwareJpaTransactionManager through transaction and statement timeouts.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor, EmbeddedValueResolverAware {
+
+    private final Duration defaultBudget;
+    private final Map<Method, Duration> budgets = new ConcurrentHashMap<>();
+    private StringValueResolver valueResolver;
+
+    public DeadlineInterceptor(@Value("${vnest.deadline.default:10s}") Duration defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration budget = handler instanceof HandlerMethod handlerMethod
+                ? budgets.computeIfAbsent(handlerMethod.getMethod(), method -> resolveBudget(handlerMethod))
+                : defaultBudget;
+
+        Deadline.start(budget);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Deadline.clear();
+    }
+
+    private Duration resolveBudget(HandlerMethod handlerMethod) {
+        RequestDeadline annotation = handlerMethod.getMethodAnnotation(RequestDeadline.class);
+        if (annotation == null) {
+            annotation = handlerMethod.getBeanType().getAnnotation(RequestDeadline.class);
+        }
+        if (annotation == null) {
+            return defaultBudget;
+        }
+
+        String value = valueResolver != null ? valueResolver.resolveStringValue(annotation.value()) : annotation.value();
+        return DurationStyle.detectAndParse(value);
+    }
+}
@@ -0,0 +1,180 @@
+package fi.vnest.speechtherapy.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fi.vnest.speechtherapy.api.dto.ApiResponse;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore.Claim;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Replays the stored response when a write request is retried with the same Idempotency-Key header,
+ * without running the request again. Responses with a 5xx status are not stored, so such requests can be retried.
+ * A key reused for a different request is rejected with 422, and a retry arriving while the first request
+ * is still running is rejected with 409. The body is buffered to fingerprint it, so bodies larger than
+ * vnest.idempotency.max-body-size are rejected with 413 before anything is read past that size.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    @Autowired
+    public IdempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${vnest.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = (int) Math.min(maxBodySize.toBytes(), Integer.MAX_VALUE - 1);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !WRITE_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/")
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeBodyTooLarge(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeBodyTooLarge(response);
+            return;
+        }
+
+        String fingerprint = fingerprint(request, body);
+        Claim claim = idempotencyStore.claim(key, fingerprint);
+
+        switch (claim.outcome()) {
+            case COMPLETED -> replay(response, claim.response());
+            case IN_PROGRESS -> writeError(response, HttpStatus.CONFLICT,
+                    "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            case CLAIMED -> execute(new CachedBodyRequest(request, body), response, chain, key, fingerprint);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                         String key, String fingerprint) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+
+        try {
+            chain.doFilter(request, responseWrapper);
+
+            if (responseWrapper.getStatus() < 500) {
+                stored = store(key, fingerprint, responseWrapper);
+            }
+        } finally {
+            if (!stored) {
+                release(key, fingerprint);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean store(String key, String fingerprint, ContentCachingResponseWrapper response) {
+        try {
+            idempotencyStore.complete(key, fingerprint, response.getStatus(),
+                    response.getContentType(), response.getContentAsByteArray());
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Failed to store the response for idempotency key {}", key, e);
+            return false;
+        }
+    }
+
+    private void release(String key, String fingerprint) {
+        try {
+            idempotencyStore.release(key, fingerprint);
+        } catch (DataAccessException e) {
+            // The lease expires on its own
+            log.warn("Failed to release idempotency key {}", key, e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.statusCode());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeBodyTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.CONTENT_TOO_LARGE,
+                "Requests with an " + IDEMPOTENCY_KEY_HEADER + " may have at most " + maxBodyBytes + " bytes of body");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, message));
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package fi.vnest.speechtherapy.api.web;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because the server is at its concurrency limit.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,18 @@
+package fi.vnest.speechtherapy.api.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Time budget of a controller method (or all methods of a controller), e.g. "2s" or "${vnest.deadline.x:2s}".
+ * Transactions and statements started while handling the request get at most the remaining time as their timeout.
+ * Methods without the annotation use vnest.deadline.default.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+
+    String value();
+}
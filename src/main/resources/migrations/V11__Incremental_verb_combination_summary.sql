@@ -0,0 +1,198 @@
+-- Maintains verb_combination_summary incrementally. The V4 triggers re-aggregated every combination of each
+-- touched verb on every statement, so one insert into a verb with 250k combinations read 250k rows and a large
+-- batch of small statements was quadratic. The triggers now apply only the rows of the statement:
+-- combination_count is adjusted by the number of inserted or deleted rows, and per-slot reference counts tell
+-- which subject and object IDs enter or leave the arrays.
+CREATE TABLE verb_subject_count (
+    verb_id BIGINT NOT NULL REFERENCES word(id) ON DELETE CASCADE,
+    subject_id BIGINT NOT NULL,
+    combination_count INTEGER NOT NULL,
+    PRIMARY KEY (verb_id, subject_id)
+);
+
+CREATE TABLE verb_object_count (
+    verb_id BIGINT NOT NULL REFERENCES word(id) ON DELETE CASCADE,
+    object_id BIGINT NOT NULL,
+    combination_count INTEGER NOT NULL,
+    PRIMARY KEY (verb_id, object_id)
+);
+
+INSERT INTO verb_subject_count (verb_id, subject_id, combination_count)
+SELECT verb_id, subject_id, count(*)
+FROM allowed_combination
+GROUP BY verb_id, subject_id;
+
+INSERT INTO verb_object_count (verb_id, object_id, combination_count)
+SELECT verb_id, object_id, count(*)
+FROM allowed_combination
+GROUP BY verb_id, object_id;
+
+-- Adds combinations, given as three aligned arrays, to the summary. Summary rows are created empty or locked
+-- in verb order before any count changes, so concurrent writers of the same verb wait on that row lock instead
+-- of deadlocking. The no-op DO UPDATE takes the lock as part of the insert: if a concurrent delete of the verb's
+-- last combination is about to remove the row, the insert waits for it and then creates the row again, where
+-- DO NOTHING followed by SELECT ... FOR UPDATE would find no row and lose the summary.
+-- A slot ID is new to the verb when its reference count equals the statement's own count.
+CREATE OR REPLACE FUNCTION add_to_verb_combination_summary(
+    verb_ids BIGINT[], subject_ids BIGINT[], object_ids BIGINT[]) RETURNS void AS $$
+BEGIN
+    INSERT INTO verb_combination_summary AS s (verb_id, subject_ids, object_ids, combination_count)
+    SELECT DISTINCT v, '{}'::BIGINT[], '{}'::BIGINT[], 0
+    FROM unnest(verb_ids) v
+    ORDER BY 1
+    ON CONFLICT (verb_id) DO UPDATE SET combination_count = s.combination_count;
+
+    WITH delta AS (
+        SELECT d.verb_id, d.subject_id, count(*) AS n
+        FROM unnest(verb_ids, subject_ids) AS d(verb_id, subject_id)
+        GROUP BY d.verb_id, d.subject_id
+    ), counted AS (
+        INSERT INTO verb_subject_count AS t (verb_id, subject_id, combination_count)
+        SELECT verb_id, subject_id, n FROM delta
+        ON CONFLICT (verb_id, subject_id) DO UPDATE
+            SET combination_count = t.combination_count + EXCLUDED.combination_count
+        RETURNING t.verb_id, t.subject_id, t.combination_count
+    ), added AS (
+        SELECT c.verb_id, array_agg(c.subject_id) AS ids
+        FROM counted c
+        JOIN delta d ON d.verb_id = c.verb_id AND d.subject_id = c.subject_id
+        WHERE c.combination_count = d.n
+        GROUP BY c.verb_id
+    )
+    UPDATE verb_combination_summary s
+    SET subject_ids = ARRAY(SELECT x FROM unnest(s.subject_ids || a.ids) x ORDER BY x)
+    FROM added a
+    WHERE s.verb_id = a.verb_id;
+
+    WITH delta AS (
+        SELECT d.verb_id, d.object_id, count(*) AS n
+        FROM unnest(verb_ids, object_ids) AS d(verb_id, object_id)
+        GROUP BY d.verb_id, d.object_id
+    ), counted AS (
+        INSERT INTO verb_object_count AS t (verb_id, object_id, combination_count)
+        SELECT verb_id, object_id, n FROM delta
+        ON CONFLICT (verb_id, object_id) DO UPDATE
+            SET combination_count = t.combination_count + EXCLUDED.combination_count
+        RETURNING t.verb_id, t.object_id, t.combination_count
+    ), added AS (
+        SELECT c.verb_id, array_agg(c.object_id) AS ids
+        FROM counted c
+        JOIN delta d ON d.verb_id = c.verb_id AND d.object_id = c.object_id
+        WHERE c.combination_count = d.n
+        GROUP BY c.verb_id
+    )
+    UPDATE verb_combination_summary s
+    SET object_ids = ARRAY(SELECT x FROM unnest(s.object_ids || a.ids) x ORDER BY x)
+    FROM added a
+    WHERE s.verb_id = a.verb_id;
+
+    UPDATE verb_combination_summary s
+    SET combination_count = s.combination_count + d.n
+    FROM (SELECT v AS verb_id, count(*) AS n FROM unnest(verb_ids) v GROUP BY v) d
+    WHERE s.verb_id = d.verb_id;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+-- Removes combinations from the summary. Slot IDs whose reference count drops to zero leave the arrays,
+-- and verbs without combinations lose their summary row.
+CREATE OR REPLACE FUNCTION remove_from_verb_combination_summary(
+    verb_ids BIGINT[], subject_ids BIGINT[], object_ids BIGINT[]) RETURNS void AS $$
+BEGIN
+    PERFORM 1 FROM verb_combination_summary WHERE verb_id = ANY (verb_ids) ORDER BY verb_id FOR UPDATE;
+
+    WITH delta AS (
+        SELECT d.verb_id, d.subject_id, count(*) AS n
+        FROM unnest(verb_ids, subject_ids) AS d(verb_id, subject_id)
+        GROUP BY d.verb_id, d.subject_id
+    ), counted AS (
+        UPDATE verb_subject_count t
+        SET combination_count = t.combination_count - d.n
+        FROM delta d
+        WHERE t.verb_id = d.verb_id AND t.subject_id = d.subject_id
+        RETURNING t.verb_id, t.subject_id, t.combination_count
+    ), removed AS (
+        SELECT verb_id, array_agg(subject_id) AS ids
+        FROM counted
+        WHERE combination_count = 0
+        GROUP BY verb_id
+    )
+    UPDATE verb_combination_summary s
+    SET subject_ids = ARRAY(SELECT x FROM unnest(s.subject_ids) x WHERE x <> ALL (r.ids) ORDER BY x)
+    FROM removed r
+    WHERE s.verb_id = r.verb_id;
+
+    WITH delta AS (
+        SELECT d.verb_id, d.object_id, count(*) AS n
+        FROM unnest(verb_ids, object_ids) AS d(verb_id, object_id)
+        GROUP BY d.verb_id, d.object_id
+    ), counted AS (
+        UPDATE verb_object_count t
+        SET combination_count = t.combination_count - d.n
+        FROM delta d
+        WHERE t.verb_id = d.verb_id AND t.object_id = d.object_id
+        RETURNING t.verb_id, t.object_id, t.combination_count
+    ), removed AS (
+        SELECT verb_id, array_agg(object_id) AS ids
+        FROM counted
+        WHERE combination_count = 0
+        GROUP BY verb_id
+    )
+    UPDATE verb_combination_summary s
+    SET object_ids = ARRAY(SELECT x FROM unnest(s.object_ids) x WHERE x <> ALL (r.ids) ORDER BY x)
+    FROM removed r
+    WHERE s.verb_id = r.verb_id;
+
+    DELETE FROM verb_subject_count WHERE verb_id = ANY (verb_ids) AND combination_count = 0;
+    DELETE FROM verb_object_count WHERE verb_id = ANY (verb_ids) AND combination_count = 0;
+
+    UPDATE verb_combination_summary s
+    SET combination_count = s.combination_count - d.n
+    FROM (SELECT v AS verb_id, count(*) AS n FROM unnest(verb_ids) v GROUP BY v) d
+    WHERE s.verb_id = d.verb_id;
+
+    DELETE FROM verb_combination_summary WHERE verb_id = ANY (verb_ids) AND combination_count = 0;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+-- The trigger functions keep their names, so the triggers created in V7 now run the incremental versions.
+-- The transition tables are passed on as aligned arrays, aggregated in a single pass.
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_insert() RETURNS trigger AS $$
+BEGIN
+    PERFORM add_to_verb_combination_summary(v, s, o)
+    FROM (SELECT array_agg(verb_id) AS v, array_agg(subject_id) AS s, array_agg(object_id) AS o FROM new_rows) n
+    WHERE v IS NOT NULL;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_delete() RETURNS trigger AS $$
+BEGIN
+    PERFORM remove_from_verb_combination_summary(v, s, o)
+    FROM (SELECT array_agg(verb_id) AS v, array_agg(subject_id) AS s, array_agg(object_id) AS o FROM old_rows) d
+    WHERE v IS NOT NULL;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_update() RETURNS trigger AS $$
+BEGIN
+    PERFORM remove_from_verb_combination_summary(v, s, o)
+    FROM (SELECT array_agg(verb_id) AS v, array_agg(subject_id) AS s, array_agg(object_id) AS o FROM old_rows) d
+    WHERE v IS NOT NULL;
+    PERFORM add_to_verb_combination_summary(v, s, o)
+    FROM (SELECT array_agg(verb_id) AS v, array_agg(subject_id) AS s, array_agg(object_id) AS o FROM new_rows) n
+    WHERE v IS NOT NULL;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_truncate() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM verb_subject_count;
+    DELETE FROM verb_object_count;
+    DELETE FROM verb_combination_summary;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+DROP FUNCTION refresh_verb_combination_summary(BIGINT[]);
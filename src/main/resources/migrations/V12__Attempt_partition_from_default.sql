@@ -0,0 +1,37 @@
+-- Creates the partition of the month containing the given day, if it does not exist yet.
+-- Rows of the month may already be in the default partition (when an earlier creation failed), which would make
+-- a plain CREATE TABLE ... PARTITION OF fail forever. They are moved into the new table before it is attached,
+-- with the default partition locked so no rows for the month can arrive in between.
+CREATE OR REPLACE FUNCTION create_attempt_partition(day DATE) RETURNS void AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day);
+    month_end DATE := date_trunc('month', day) + INTERVAL '1 month';
+    partition_name TEXT := 'attempt_' || to_char(date_trunc('month', day), 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE attempt_default IN ACCESS EXCLUSIVE MODE;
+
+    -- Another session may have created it while this one waited for the lock
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE attempt INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM attempt_default WHERE attempted_at >= %L AND attempted_at < %L RETURNING *) '
+            || 'INSERT INTO %I SELECT * FROM moved',
+        month_start, month_end, partition_name
+    );
+    EXECUTE format(
+        'ALTER TABLE attempt ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, month_end
+    );
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+-- Months that already have rows in the default partition
+SELECT create_attempt_partition(month)
+FROM (SELECT DISTINCT date_trunc('month', attempted_at)::DATE AS month FROM attempt_default) months;
@@ -0,0 +1,4 @@
+-- Keyset pagination of the combinations of a verb (verb_id = ? AND id > ? ORDER BY id LIMIT ?). The primary key
+-- (id, verb_id) can't seek to a verb, and the unique (verb_id, subject_id, object_id) index isn't in ID order, so
+-- without this index every page would sort all combinations of the verb.
+CREATE INDEX idx_combination_verb_id ON allowed_combination(verb_id, id);
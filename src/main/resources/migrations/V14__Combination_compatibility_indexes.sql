@@ -0,0 +1,8 @@
+-- Covering indexes for the compatibility lookups that run before the in-memory index has been built:
+-- verbs by (subject, object) and objects by (subject, verb). The table is partitioned by verb, so the verb lookup
+-- still visits every partition, but each visit is a single index-only probe. Both start with subject_id, so the
+-- single-column subject index is no longer needed.
+CREATE INDEX idx_combination_subject_object_verb ON allowed_combination(subject_id, object_id, verb_id);
+CREATE INDEX idx_combination_subject_verb_object ON allowed_combination(subject_id, verb_id, object_id);
+
+DROP INDEX idx_combination_subject;
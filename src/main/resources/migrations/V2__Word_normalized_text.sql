@@ -0,0 +1,51 @@
+-- Normalized form of word.text used for deduplication: NFC, whitespace collapsed and trimmed, lower case.
+-- Must match Word.normalize on the application side, rule by rule:
+-- * String.strip trims the characters of Character.isWhitespace: Unicode space, line and paragraph separators
+--   except the no-break spaces U+00A0, U+2007 and U+202F, plus U+0009-U+000D and U+001C-U+001F.
+-- * The pattern \s+ (without UNICODE_CHARACTER_CLASS) only collapses ASCII whitespace: [ \t\n\x0B\f\r].
+-- * toLowerCase applies the full Unicode lower case mapping, which ICU's lower() does too; the database collation
+--   may be C, which only lowercases ASCII.
+ALTER TABLE word ADD COLUMN normalized_text VARCHAR(255);
+
+UPDATE word
+SET normalized_text = lower(
+        regexp_replace(
+            regexp_replace(
+                normalize(text, NFC),
+                '^[\u0009-\u000D\u001C-\u001F\u0020\u1680\u2000-\u2006\u2008-\u200A\u2028\u2029\u205F\u3000]+'
+                    || '|[\u0009-\u000D\u001C-\u001F\u0020\u1680\u2000-\u2006\u2008-\u200A\u2028\u2029\u205F\u3000]+$',
+                '', 'g'),
+            '[ \t\n\v\f\r]+', ' ', 'g')
+        COLLATE "fi-x-icu");
+
+-- Merge existing duplicates into the oldest row before the unique index is created.
+-- Combinations of the duplicates are re-pointed to the kept word, skipping ones that already exist there;
+-- the originals are removed together with the duplicate words by ON DELETE CASCADE.
+CREATE TEMPORARY TABLE word_merge ON COMMIT DROP AS
+SELECT id, keep_id
+FROM (
+    SELECT id, MIN(id) OVER (PARTITION BY normalized_text, type) AS keep_id
+    FROM word
+) ranked
+WHERE id <> keep_id;
+
+INSERT INTO allowed_combination (subject_id, verb_id, object_id, created_at)
+SELECT COALESCE(ms.keep_id, c.subject_id),
+       COALESCE(mv.keep_id, c.verb_id),
+       COALESCE(mo.keep_id, c.object_id),
+       c.created_at
+FROM allowed_combination c
+LEFT JOIN word_merge ms ON ms.id = c.subject_id
+LEFT JOIN word_merge mv ON mv.id = c.verb_id
+LEFT JOIN word_merge mo ON mo.id = c.object_id
+WHERE ms.id IS NOT NULL OR mv.id IS NOT NULL OR mo.id IS NOT NULL
+ON CONFLICT (subject_id, verb_id, object_id) DO NOTHING;
+
+DELETE FROM word WHERE id IN (SELECT id FROM word_merge);
+
+ALTER TABLE word ALTER COLUMN normalized_text SET NOT NULL;
+
+CREATE UNIQUE INDEX uq_word_normalized_text_type ON word(normalized_text, type);
+
+-- Hibernate allocates word IDs in blocks of 50 (pooled optimizer) so bulk inserts don't call nextval per row.
+ALTER SEQUENCE word_id_seq INCREMENT BY 50;
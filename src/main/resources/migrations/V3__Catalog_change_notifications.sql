@@ -0,0 +1,18 @@
+-- Notifies all application instances about committed writes to the catalog tables, so every node can
+-- invalidate its in-process caches. The payload is the changed table name. PostgreSQL delivers
+-- notifications only on commit and folds identical ones within a transaction, so a bulk write results
+-- in a single notification per table.
+CREATE OR REPLACE FUNCTION notify_catalog_change() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('vnest_catalog_changed', TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER word_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON word
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_catalog_change();
+
+CREATE TRIGGER allowed_combination_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON allowed_combination
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_catalog_change();
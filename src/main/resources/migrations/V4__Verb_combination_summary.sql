@@ -0,0 +1,96 @@
+-- One row per verb with the sorted IDs of all compatible subjects and objects, so suggestions can be built
+-- without reading the whole allowed_combination table. Kept up to date by statement triggers that recompute
+-- only the verbs touched by each statement (a materialized view would need a full refresh after every write).
+CREATE TABLE verb_combination_summary (
+    verb_id BIGINT PRIMARY KEY REFERENCES word(id) ON DELETE CASCADE,
+    subject_ids BIGINT[] NOT NULL,
+    object_ids BIGINT[] NOT NULL,
+    combination_count INTEGER NOT NULL
+);
+
+-- Recomputes the summary rows of the given verbs. Concurrent writers touching the same verb are serialized
+-- with transaction-scoped advisory locks, taken in a fixed order to avoid deadlocks. Every statement below
+-- runs with a fresh snapshot, so once the lock is held the rows committed by the previous writer are visible.
+-- The functions keep the migration's search_path, because application sessions qualify table names
+-- with the schema instead of setting it.
+CREATE OR REPLACE FUNCTION refresh_verb_combination_summary(verb_ids BIGINT[]) RETURNS void AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('verb_combination_summary'), hashint8(v.verb_id))
+    FROM (SELECT DISTINCT unnest(verb_ids) AS verb_id ORDER BY 1) v;
+
+    DELETE FROM verb_combination_summary s
+    WHERE s.verb_id = ANY (verb_ids)
+      AND NOT EXISTS (SELECT 1 FROM allowed_combination c WHERE c.verb_id = s.verb_id);
+
+    INSERT INTO verb_combination_summary (verb_id, subject_ids, object_ids, combination_count)
+    SELECT c.verb_id,
+           array_agg(DISTINCT c.subject_id ORDER BY c.subject_id),
+           array_agg(DISTINCT c.object_id ORDER BY c.object_id),
+           count(*)
+    FROM allowed_combination c
+    WHERE c.verb_id = ANY (verb_ids)
+    GROUP BY c.verb_id
+    ON CONFLICT (verb_id) DO UPDATE
+        SET subject_ids = EXCLUDED.subject_ids,
+            object_ids = EXCLUDED.object_ids,
+            combination_count = EXCLUDED.combination_count;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_insert() RETURNS trigger AS $$
+BEGIN
+    PERFORM refresh_verb_combination_summary(ARRAY(SELECT DISTINCT verb_id FROM new_rows));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_delete() RETURNS trigger AS $$
+BEGIN
+    PERFORM refresh_verb_combination_summary(ARRAY(SELECT DISTINCT verb_id FROM old_rows));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_update() RETURNS trigger AS $$
+BEGIN
+    PERFORM refresh_verb_combination_summary(ARRAY(
+        SELECT verb_id FROM old_rows UNION SELECT verb_id FROM new_rows
+    ));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+CREATE OR REPLACE FUNCTION verb_combination_summary_after_truncate() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM verb_combination_summary;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+-- Transition tables cannot be shared between events, hence one trigger per event
+CREATE TRIGGER allowed_combination_summary_insert
+    AFTER INSERT ON allowed_combination
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_insert();
+
+CREATE TRIGGER allowed_combination_summary_delete
+    AFTER DELETE ON allowed_combination
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_delete();
+
+CREATE TRIGGER allowed_combination_summary_update
+    AFTER UPDATE ON allowed_combination
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_update();
+
+CREATE TRIGGER allowed_combination_summary_truncate
+    AFTER TRUNCATE ON allowed_combination
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_truncate();
+
+INSERT INTO verb_combination_summary (verb_id, subject_ids, object_ids, combination_count)
+SELECT verb_id,
+       array_agg(DISTINCT subject_id ORDER BY subject_id),
+       array_agg(DISTINCT object_id ORDER BY object_id),
+       count(*)
+FROM allowed_combination
+GROUP BY verb_id;
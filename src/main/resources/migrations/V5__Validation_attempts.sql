@@ -0,0 +1,38 @@
+-- Validation attempts, written in batches by the application (see AttemptRecorder).
+-- Partitioned by month so old months can be detached or dropped cheaply. attempted_at is in UTC.
+-- Word IDs are not foreign keys on purpose: the history is kept when words are deleted.
+CREATE TABLE attempt (
+    id BIGSERIAL,
+    attempted_at TIMESTAMP NOT NULL,
+    patient_id VARCHAR(64),
+    session_id VARCHAR(64),
+    subject_id BIGINT NOT NULL,
+    verb_id BIGINT NOT NULL,
+    object_id BIGINT NOT NULL,
+    correct BOOLEAN NOT NULL,
+    latency_micros INTEGER NOT NULL,
+    PRIMARY KEY (id, attempted_at)
+) PARTITION BY RANGE (attempted_at);
+
+CREATE INDEX idx_attempt_patient ON attempt(patient_id, attempted_at);
+CREATE INDEX idx_attempt_session ON attempt(session_id);
+
+-- Catches rows for months whose partition does not exist yet
+CREATE TABLE attempt_default PARTITION OF attempt DEFAULT;
+
+-- Creates the partition of the month containing the given day, if it does not exist yet
+CREATE OR REPLACE FUNCTION create_attempt_partition(day DATE) RETURNS void AS $$
+DECLARE
+    month_start DATE := date_trunc('month', day);
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF attempt FOR VALUES FROM (%L) TO (%L)',
+        'attempt_' || to_char(month_start, 'YYYY_MM'),
+        month_start,
+        month_start + INTERVAL '1 month'
+    );
+END;
+$$ LANGUAGE plpgsql SET search_path FROM CURRENT;
+
+SELECT create_attempt_partition(CURRENT_DATE);
+SELECT create_attempt_partition((CURRENT_DATE + INTERVAL '1 month')::DATE);
@@ -0,0 +1,17 @@
+-- Daily rollups of validation attempts, incremented by the application (see AttemptStatistics).
+-- Days are in UTC. Reports read at most one row per day instead of scanning the attempt table.
+CREATE TABLE verb_daily_stats (
+    verb_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    attempts BIGINT NOT NULL,
+    correct BIGINT NOT NULL,
+    PRIMARY KEY (verb_id, day)
+);
+
+CREATE TABLE patient_daily_stats (
+    patient_id VARCHAR(64) NOT NULL,
+    day DATE NOT NULL,
+    attempts BIGINT NOT NULL,
+    correct BIGINT NOT NULL,
+    PRIMARY KEY (patient_id, day)
+);
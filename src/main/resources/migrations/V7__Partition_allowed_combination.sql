@@ -0,0 +1,73 @@
+-- Rebuilds allowed_combination as a table hash-partitioned by verb_id, so lookups and deletes by verb
+-- touch a single partition. Primary and unique keys must contain the partition key, hence the primary
+-- key (id, verb_id) and the unique key leading with verb_id, which also serves lookups by verb.
+-- Constraints and indexes are added after the copy, which is faster than maintaining them row by row.
+
+-- Keep the ID sequence when the old table is dropped
+ALTER SEQUENCE allowed_combination_id_seq OWNED BY NONE;
+
+CREATE TABLE allowed_combination_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('allowed_combination_id_seq'),
+    subject_id BIGINT NOT NULL,
+    verb_id BIGINT NOT NULL,
+    object_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY HASH (verb_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..7 LOOP
+        EXECUTE format(
+            'CREATE TABLE allowed_combination_p%s PARTITION OF allowed_combination_partitioned '
+                || 'FOR VALUES WITH (MODULUS 8, REMAINDER %s)',
+            i, i
+        );
+    END LOOP;
+END;
+$$;
+
+INSERT INTO allowed_combination_partitioned (id, subject_id, verb_id, object_id, created_at)
+SELECT id, subject_id, verb_id, object_id, created_at
+FROM allowed_combination;
+
+-- Also drops the triggers of the old table, they are recreated below
+DROP TABLE allowed_combination;
+
+ALTER TABLE allowed_combination_partitioned RENAME TO allowed_combination;
+ALTER SEQUENCE allowed_combination_id_seq OWNED BY allowed_combination.id;
+
+ALTER TABLE allowed_combination
+    ADD PRIMARY KEY (id, verb_id),
+    ADD CONSTRAINT uq_allowed_combination UNIQUE (verb_id, subject_id, object_id),
+    ADD CONSTRAINT fk_subject FOREIGN KEY (subject_id) REFERENCES word(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_verb FOREIGN KEY (verb_id) REFERENCES word(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_object FOREIGN KEY (object_id) REFERENCES word(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_combination_subject ON allowed_combination(subject_id);
+CREATE INDEX idx_combination_object ON allowed_combination(object_id);
+
+-- Triggers from V3 and V4
+CREATE TRIGGER allowed_combination_catalog_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON allowed_combination
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_catalog_change();
+
+CREATE TRIGGER allowed_combination_summary_insert
+    AFTER INSERT ON allowed_combination
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_insert();
+
+CREATE TRIGGER allowed_combination_summary_delete
+    AFTER DELETE ON allowed_combination
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_delete();
+
+CREATE TRIGGER allowed_combination_summary_update
+    AFTER UPDATE ON allowed_combination
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_update();
+
+CREATE TRIGGER allowed_combination_summary_truncate
+    AFTER TRUNCATE ON allowed_combination
+    FOR EACH STATEMENT EXECUTE FUNCTION verb_combination_summary_after_truncate();
+
+ANALYZE allowed_combination;
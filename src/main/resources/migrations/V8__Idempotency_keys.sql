@@ -0,0 +1,14 @@
+-- Responses of write requests sent with an Idempotency-Key header, replayed when the request is retried.
+-- A row without a status code is a request still being processed; its short lease lets another
+-- instance take over the key if the processing instance dies.
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    status_code INTEGER,
+    content_type VARCHAR(255),
+    body BYTEA,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key(expires_at);
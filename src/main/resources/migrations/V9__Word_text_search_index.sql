@@ -0,0 +1,5 @@
+-- Trigram index for substring search of word texts (e.g. finding combinations whose sentence contains "traktori").
+-- Combination search looks up the matching word IDs here and then uses the per-slot combination indexes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA vnest;
+
+CREATE INDEX idx_word_normalized_text_trgm ON word USING gin (normalized_text gin_trgm_ops);
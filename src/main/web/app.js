@@ -0,0 +1,498 @@
+// app.js
+const API_BASE = '/api';
+let currentEditId = null;
+
+// Tab switching
+function switchTab(tab) {
+    document.querySelectorAll('.tab').forEach(t => t.classList.remove('active'));
+    document.querySelectorAll('.tab-content').forEach(c => c.classList.remove('active'));
+
+    event.target.classList.add('active');
+    document.getElementById(tab + '-tab').classList.add('active');
+
+    if (tab === 'words') {
+        loadWords();
+    } else if (tab === 'combinations') {
+        loadCombinations();
+    }
+}
+
+// Alert messages
+function showAlert(message, type = 'success') {
+    const container = document.getElementById('alert-container');
+    const alert = document.createElement('div');
+    alert.className = `alert alert-${type}`;
+    alert.textContent = message;
+    container.appendChild(alert);
+    setTimeout(() => alert.remove(), 4000);
+}
+
+// Virtualized tables: only the rows in view are rendered, and their pages are fetched from the API on demand
+const ROW_HEIGHT = 45;
+const PAGE_SIZE = 200;
+const OVERSCAN_ROWS = 10;
+const MAX_CACHED_PAGES = 50;
+const FETCH_DELAY_MS = 100;
+// Browsers limit element heights to a few million pixels, so very long tables scroll in scaled steps
+const MAX_SCROLL_HEIGHT = 5000000;
+
+class VirtualTable {
+    /**
+     * @param container Element the table is rendered into; a newer table in the same container replaces this one.
+     * @param columns [{ header, width, cell: row => html }]
+     * @param pageUrl (page, size, after) => URL of a paginated endpoint; after is the ID of the last row of the
+     *                previous page when that page is loaded, so the endpoint can continue from it instead of an offset
+     * @param emptyMessage Shown when there are no rows
+     */
+    constructor(container, columns, pageUrl, emptyMessage) {
+        this.container = container;
+        this.columns = columns;
+        this.pageUrl = pageUrl;
+        this.emptyMessage = emptyMessage;
+        this.pages = new Map();
+        this.loading = new Set();
+        this.total = 0;
+        this.renderScheduled = false;
+        this.fetchTimer = null;
+        container.virtualTable = this;
+    }
+
+    async load() {
+        if (!await this.fetchPage(0) || !this.isCurrent()) {
+            return;
+        }
+
+        if (this.total === 0) {
+            this.container.innerHTML = `<div class="empty-state">${this.emptyMessage}</div>`;
+            return;
+        }
+
+        const colgroup = `<colgroup>${this.columns.map(c => `<col style="width: ${c.width}">`).join('')}</colgroup>`;
+        this.container.innerHTML = `
+            <table class="virtual-header">
+                ${colgroup}
+                <thead><tr>${this.columns.map(c => `<th>${c.header}</th>`).join('')}</tr></thead>
+            </table>
+            <div class="virtual-viewport">
+                <div class="virtual-spacer">
+                    <table class="virtual-rows">${colgroup}<tbody></tbody></table>
+                </div>
+            </div>
+            <div class="virtual-status"></div>
+        `;
+
+        this.viewport = this.container.querySelector('.virtual-viewport');
+        this.spacer = this.container.querySelector('.virtual-spacer');
+        this.rowsTable = this.container.querySelector('.virtual-rows');
+        this.status = this.container.querySelector('.virtual-status');
+        this.viewport.addEventListener('scroll', () => this.scheduleRender());
+        this.render();
+    }
+
+    isCurrent() {
+        return this.container.virtualTable === this;
+    }
+
+    async fetchPage(page) {
+        this.loading.add(page);
+        try {
+            const previous = this.pages.get(page - 1);
+            const after = previous && previous.length === PAGE_SIZE ? previous[PAGE_SIZE - 1].id : null;
+            const result = await (await fetch(this.pageUrl(page, PAGE_SIZE, after))).json();
+            if (!result.success || !result.data) {
+                throw new Error('unexpected response');
+            }
+
+            this.pages.set(page, result.data.items);
+            this.total = result.data.total_items;
+            this.evictPages(page);
+            return true;
+        } catch (error) {
+            if (this.isCurrent()) {
+                showAlert('Failed to load rows: ' + error.message, 'error');
+            }
+            return false;
+        } finally {
+            this.loading.delete(page);
+        }
+    }
+
+    evictPages(keepPage) {
+        for (const page of this.pages.keys()) {
+            if (this.pages.size <= MAX_CACHED_PAGES) {
+                break;
+            }
+            if (page !== keepPage) {
+                this.pages.delete(page);
+            }
+        }
+    }
+
+    scheduleRender() {
+        if (!this.renderScheduled) {
+            this.renderScheduled = true;
+            requestAnimationFrame(() => {
+                this.renderScheduled = false;
+                this.render();
+            });
+        }
+    }
+
+    render() {
+        if (!this.isCurrent() || !this.viewport) {
+            return;
+        }
+
+        const viewportHeight = this.viewport.clientHeight;
+        const fullHeight = this.total * ROW_HEIGHT;
+        const scrollHeight = Math.min(fullHeight, MAX_SCROLL_HEIGHT);
+        this.spacer.style.height = `${scrollHeight}px`;
+
+        // Map the scroll position to a position in the full table, so the last rows stay reachable when scaled
+        const maxScrollTop = Math.max(1, scrollHeight - viewportHeight);
+        const scrollTop = Math.min(this.viewport.scrollTop, maxScrollTop);
+        const virtualTop = scrollHeight === fullHeight
+            ? scrollTop
+            : scrollTop / maxScrollTop * (fullHeight - viewportHeight);
+
+        const first = Math.max(0, Math.floor(virtualTop / ROW_HEIGHT) - OVERSCAN_ROWS);
+        const last = Math.min(this.total, Math.ceil((virtualTop + viewportHeight) / ROW_HEIGHT) + OVERSCAN_ROWS);
+        this.rowsTable.style.transform = `translateY(${scrollTop - virtualTop + first * ROW_HEIGHT}px)`;
+
+        const rows = [];
+        const missingPages = new Set();
+        for (let i = first; i < last; i++) {
+            const page = Math.floor(i / PAGE_SIZE);
+            const items = this.pages.get(page);
+            const row = items && items[i - page * PAGE_SIZE];
+
+            if (row) {
+                rows.push(`<tr>${this.columns.map(c => `<td>${c.cell(row)}</td>`).join('')}</tr>`);
+            } else {
+                rows.push(`<tr><td colspan="${this.columns.length}" class="loading">Loading...</td></tr>`);
+                if (!items) {
+                    missingPages.add(page);
+                }
+            }
+        }
+        this.rowsTable.tBodies[0].innerHTML = rows.join('');
+        this.status.textContent = `Rows ${first + 1}-${last} of ${this.total}`;
+
+        // Fetch only once scrolling pauses, so dragging the scrollbar does not request every page on the way
+        clearTimeout(this.fetchTimer);
+        if (missingPages.size > 0) {
+            this.fetchTimer = setTimeout(() => {
+                missingPages.forEach(page => {
+                    if (!this.loading.has(page) && !this.pages.has(page)) {
+                        this.fetchPage(page).then(() => this.scheduleRender());
+                    }
+                });
+            }, FETCH_DELAY_MS);
+        }
+    }
+}
+
+// Words Management
+const WORD_COLUMNS = [
+    { header: 'ID', width: '15%', cell: word => word.id },
+    { header: 'Text', width: '45%', cell: word => word.text },
+    { header: 'Type', width: '20%', cell: word => word.type },
+    { header: 'Actions', width: '20%', cell: word => `<button class="btn btn-danger" onclick="deleteWord(${word.id})">Delete</button>` }
+];
+
+function loadWords() {
+    const type = document.getElementById('word-filter').value;
+    const container = document.getElementById('words-list');
+
+    new VirtualTable(
+        container,
+        WORD_COLUMNS,
+        (page, size) => `${API_BASE}/words?page=${page}&size=${size}${type ? `&type=${type}` : ''}`,
+        'No words found'
+    ).load();
+}
+
+document.getElementById('word-form').addEventListener('submit', async (e) => {
+    e.preventDefault();
+
+    const data = {
+        text: document.getElementById('word-text').value,
+        type: document.getElementById('word-type').value,
+    };
+
+    try {
+        const response = await fetch(`${API_BASE}/words`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(data)
+        });
+
+        const result = await response.json();
+
+        if (result.success) {
+            showAlert('Word created successfully!');
+            e.target.reset();
+            loadWords();
+        } else {
+            showAlert('Failed to create word', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+});
+
+async function deleteWord(id) {
+    if (!confirm('Are you sure you want to delete this word?')) return;
+
+    try {
+        const response = await fetch(`${API_BASE}/words/${id}`, {
+            method: 'DELETE'
+        });
+
+        if (response.ok) {
+            showAlert('Word deleted successfully!');
+            loadWords();
+        } else {
+            showAlert('Failed to delete word', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+}
+
+// Combinations Management
+async function loadBootstrap() {
+    try {
+        // Words of all types and the combination count of each verb in a single request
+        const result = await (await fetch(`${API_BASE}/bootstrap`)).json();
+        if (!result.success || !result.data) {
+            return;
+        }
+
+        const words = result.data.words;
+
+        // Populate verbs, keeping the current selections
+        const options = words.VERB.map(v => `<option value="${v.id}">${v.text}</option>`).join('');
+        ['combo-verb', 'batch-verb', 'combo-filter'].forEach(id => {
+            const sel = document.getElementById(id);
+            const selected = sel.value;
+            sel.innerHTML = id === 'combo-filter'
+                ? `<option value="">All Verbs</option>${options}`
+                : `<option value="">Select verb...</option>${options}`;
+            sel.value = selected;
+        });
+
+        // Populate subjects
+        const subjectOptions = words.SUBJECT.map(s => `<option value="${s.id}">${s.text}</option>`).join('');
+        document.getElementById('combo-subject').innerHTML = `<option value="">Select subject...</option>${subjectOptions}`;
+        document.getElementById('batch-subjects').innerHTML = subjectOptions;
+
+        // Populate objects
+        const objectOptions = words.OBJECT.map(o => `<option value="${o.id}">${o.text}</option>`).join('');
+        document.getElementById('combo-object').innerHTML = `<option value="">Select object...</option>${objectOptions}`;
+        document.getElementById('batch-objects').innerHTML = objectOptions;
+
+        if (!document.getElementById('combo-filter').value && !document.getElementById('combo-search').value.trim()) {
+            displayVerbCounts(words.VERB, result.data.combination_counts);
+        }
+    } catch (error) {
+        showAlert('Failed to load options: ' + error.message, 'error');
+    }
+}
+
+const COMBINATION_COLUMNS = [
+    { header: 'Subject', width: '27%', cell: combo => `${combo.subject.text} (${combo.subject.id})` },
+    { header: 'Verb', width: '27%', cell: combo => `${combo.verb.text} (${combo.verb.id})` },
+    { header: 'Object', width: '27%', cell: combo => `${combo.object.text} (${combo.object.id})` },
+    { header: 'Actions', width: '19%', cell: combo => `<button class="btn btn-danger" onclick="deleteCombination(${combo.id})">Delete</button>` }
+];
+
+function loadCombinations() {
+    const verbId = document.getElementById('combo-filter').value;
+    const search = document.getElementById('combo-search').value.trim();
+
+    // Without filters, the overview of combination counts per verb comes with the bootstrap data
+    if (!verbId && !search) {
+        loadBootstrap();
+        return;
+    }
+
+    const params = new URLSearchParams();
+    if (verbId) {
+        params.set('verb_id', verbId);
+    }
+    if (search) {
+        params.set('q', search);
+    }
+
+    new VirtualTable(
+        document.getElementById('combinations-list'),
+        COMBINATION_COLUMNS,
+        (page, size, after) => `${API_BASE}/combinations?${params}&page=${page}&size=${size}${after !== null ? `&after=${after}` : ''}`,
+        'No combinations found'
+    ).load();
+}
+
+function showVerbCombinations(verbId) {
+    document.getElementById('combo-filter').value = verbId;
+    loadCombinations();
+}
+
+function displayVerbCounts(verbs, counts) {
+    const container = document.getElementById('combinations-list');
+    container.virtualTable = null;
+
+    if (verbs.length === 0) {
+        container.innerHTML = '<div class="empty-state">No verbs found</div>';
+        return;
+    }
+
+    const table = `
+        <table>
+            <thead>
+                <tr>
+                    <th>Verb</th>
+                    <th>Combinations</th>
+                    <th>Actions</th>
+                </tr>
+            </thead>
+            <tbody>
+                ${verbs.map(verb => `
+                    <tr>
+                        <td>${verb.text} (${verb.id})</td>
+                        <td>${counts[verb.id] || 0}</td>
+                        <td class="actions">
+                            <button class="btn btn-secondary" onclick="showVerbCombinations(${verb.id})">View</button>
+                        </td>
+                    </tr>
+                `).join('')}
+            </tbody>
+        </table>
+    `;
+
+    container.innerHTML = table;
+}
+
+document.getElementById('combination-form').addEventListener('submit', async (e) => {
+    e.preventDefault();
+
+    const objectId = document.getElementById('combo-object').value;
+
+    const data = {
+        verb_id: parseInt(document.getElementById('combo-verb').value),
+        subject_id: parseInt(document.getElementById('combo-subject').value),
+        object_id: objectId ? parseInt(objectId) : null
+    };
+
+    try {
+        const response = await fetch(`${API_BASE}/combinations`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(data)
+        });
+
+        const result = await response.json();
+
+        if (result.success) {
+            showAlert('Combination created successfully!');
+            e.target.reset();
+            loadCombinations();
+        } else {
+            showAlert('Failed to create combination', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+});
+
+function readBatchRequest() {
+    const verbId = document.getElementById('batch-verb').value;
+    const subjectSelect = document.getElementById('batch-subjects');
+    const objectSelect = document.getElementById('batch-objects');
+
+    const subjectIds = Array.from(subjectSelect.selectedOptions).map(opt => parseInt(opt.value));
+    const objectIds = Array.from(objectSelect.selectedOptions).map(opt => parseInt(opt.value));
+
+    if (!verbId || subjectIds.length === 0) {
+        showAlert('Please select at least one subject and a verb.', 'error');
+        return null;
+    }
+
+    return {
+        verb_id: parseInt(verbId),
+        subject_ids: subjectIds,
+        object_ids: objectIds
+    };
+}
+
+async function previewBatchCombinations() {
+    const data = readBatchRequest();
+    if (!data) return;
+
+    try {
+        const response = await fetch(`${API_BASE}/combinations/batch?dry_run=true`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(data)
+        });
+
+        const result = await response.json();
+
+        if (result.success) {
+            const preview = result.data;
+            const invalidCount = preview.invalid_subject_ids.length + preview.invalid_object_ids.length;
+            showAlert(`${preview.new_count} new, ${preview.existing_count} already exist` +
+                (invalidCount > 0 ? `, ${invalidCount} unknown word IDs skipped` : ''));
+        } else {
+            showAlert('Failed to preview batch combinations', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+}
+
+async function createBatchCombinations() {
+    const data = readBatchRequest();
+    if (!data) return;
+
+    try {
+        const response = await fetch(`${API_BASE}/combinations/batch`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(data)
+        });
+
+        const result = await response.json();
+
+        if (result.success) {
+            showAlert(`Successfully created ${result.data.count} combinations!`);
+            loadCombinations();
+        } else {
+            showAlert('Failed to create batch combinations', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+}
+
+async function deleteCombination(id) {
+    if (!confirm('Are you sure you want to delete this combination?')) return;
+
+    try {
+        const response = await fetch(`${API_BASE}/combinations/${id}`, {
+            method: 'DELETE'
+        });
+
+        if (response.ok) {
+            showAlert('Combination deleted successfully!');
+            loadCombinations();
+        } else {
+            showAlert('Failed to delete combination', 'error');
+        }
+    } catch (error) {
+        showAlert('Error: ' + error.message, 'error');
+    }
+}
+
+// Initialize
+loadWords();
@@ -0,0 +1,175 @@
+package fi.vnest.speechtherapy.api;
+
+import fi.vnest.speechtherapy.api.dto.CombinationRequest;
+import fi.vnest.speechtherapy.api.dto.WordRequest;
+import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.repository.VerbCombinationSummaryRepository;
+import fi.vnest.speechtherapy.api.service.CombinationService;
+import fi.vnest.speechtherapy.api.service.WordSearchIndex;
+import fi.vnest.speechtherapy.api.service.WordService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two application instances against the same local PostgreSQL database and checks that a write
+ * on one instance invalidates the caches of the other through LISTEN/NOTIFY, and that concurrent writes
+ * from both instances keep the per-verb combination summary consistent.
+ *
+ * Enabled only when VNEST_TEST_DATASOURCE_URL is set, e.g. against the Compose database:
+ * VNEST_TEST_DATASOURCE_URL=jdbc:postgresql://localhost:5432/database
+ * VNEST_TEST_DATASOURCE_USERNAME=username VNEST_TEST_DATASOURCE_PASSWORD=password ./gradlew test
+ */
+@EnabledIfEnvironmentVariable(named = "VNEST_TEST_DATASOURCE_URL", matches = ".+")
+class MultiInstanceConsistencyTests {
+
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(10);
+    private static final int RACE_ROUNDS = 50;
+
+    private static ConfigurableApplicationContext writerNode;
+    private static ConfigurableApplicationContext readerNode;
+
+    @BeforeAll
+    static void startNodes() {
+        writerNode = startNode();
+        readerNode = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (writerNode != null) {
+            writerNode.close();
+        }
+        if (readerNode != null) {
+            readerNode.close();
+        }
+    }
+
+    @Test
+    void wordWrittenOnOneNode_IsSearchableAndDeletableOnOtherNode() {
+        String text = "konsistenssi-" + UUID.randomUUID();
+        WordService writerWords = writerNode.getBean(WordService.class);
+        WordSearchIndex readerSearch = readerNode.getBean(WordSearchIndex.class);
+
+        // Builds the reader's index before the write, so a missed invalidation would leave it stale
+        assertTrue(readerSearch.search(text, null, 5).isEmpty());
+
+        WordRequest request = new WordRequest();
+        request.setText(text);
+        request.setType(WordType.SUBJECT);
+        Word word = writerWords.createWord(request);
+
+        try {
+            waitUntil(() -> readerSearch.search(text, null, 5).stream()
+                    .anyMatch(result -> result.id().equals(word.getId())));
+        } finally {
+            writerWords.deleteWord(word.getId());
+        }
+
+        waitUntil(() -> readerSearch.search(text, null, 5).stream()
+                .noneMatch(result -> result.id().equals(word.getId())));
+    }
+
+    @Test
+    void lastCombinationDeletedWhileAnotherIsInserted_KeepsVerbSummary() throws Exception {
+        WordService words = writerNode.getBean(WordService.class);
+        CombinationService writerCombinations = writerNode.getBean(CombinationService.class);
+        CombinationService readerCombinations = readerNode.getBean(CombinationService.class);
+        VerbCombinationSummaryRepository summaries = writerNode.getBean(VerbCombinationSummaryRepository.class);
+
+        String suffix = UUID.randomUUID().toString();
+        Word subject = words.createWord(wordRequest("kilpa-s-" + suffix, WordType.SUBJECT));
+        Word verb = words.createWord(wordRequest("kilpa-v-" + suffix, WordType.VERB));
+        Word deletedObject = words.createWord(wordRequest("kilpa-o1-" + suffix, WordType.OBJECT));
+        Word insertedObject = words.createWord(wordRequest("kilpa-o2-" + suffix, WordType.OBJECT));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            for (int round = 0; round < RACE_ROUNDS; round++) {
+                AllowedCombination last = writerCombinations.createCombination(
+                        combinationRequest(subject, verb, deletedObject));
+                CyclicBarrier start = new CyclicBarrier(2);
+
+                // The delete removes the verb's last combination and so its summary row, while the insert needs it
+                Future<?> delete = executor.submit(() -> {
+                    start.await();
+                    writerCombinations.deleteCombination(last.getId());
+                    return null;
+                });
+                Future<AllowedCombination> insert = executor.submit(() -> {
+                    start.await();
+                    return readerCombinations.createCombination(combinationRequest(subject, verb, insertedObject));
+                });
+                delete.get();
+                AllowedCombination inserted = insert.get();
+
+                assertEquals(Optional.of(1), summaries.findCombinationCountByVerbId(verb.getId()),
+                        "Verb summary is wrong after round " + round);
+                writerCombinations.deleteCombination(inserted.getId());
+            }
+        } finally {
+            executor.shutdownNow();
+            for (Word word : List.of(subject, verb, deletedObject, insertedObject)) {
+                words.deleteWord(word.getId());
+            }
+        }
+    }
+
+    private static WordRequest wordRequest(String text, WordType type) {
+        WordRequest request = new WordRequest();
+        request.setText(text);
+        request.setType(type);
+        return request;
+    }
+
+    private static CombinationRequest combinationRequest(Word subject, Word verb, Word object) {
+        CombinationRequest request = new CombinationRequest();
+        request.setSubjectId(subject.getId());
+        request.setVerbId(verb.getId());
+        request.setObjectId(object.getId());
+        return request;
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + System.getenv("VNEST_TEST_DATASOURCE_URL"),
+                        "spring.datasource.username=" + System.getenv("VNEST_TEST_DATASOURCE_USERNAME"),
+                        "spring.datasource.password=" + System.getenv("VNEST_TEST_DATASOURCE_PASSWORD")
+                )
+                .run();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Change was not propagated to the other node within " + PROPAGATION_TIMEOUT);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for propagation");
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package fi.vnest.speechtherapy.api.config;
+
+import fi.vnest.speechtherapy.api.web.Deadline;
+import fi.vnest.speechtherapy.api.web.DeadlineExceededException;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineAwareJpaTransactionManagerTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private DeadlineAwareJpaTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new DeadlineAwareJpaTransactionManager(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Deadline.clear();
+    }
+
+    @Test
+    void determineTimeout_WithoutDeadline_KeepsDefinitionTimeout() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+
+        assertEquals(TransactionDefinition.TIMEOUT_DEFAULT, transactionManager.determineTimeout(definition));
+
+        definition.setTimeout(60);
+        assertEquals(60, transactionManager.determineTimeout(definition));
+    }
+
+    @Test
+    void determineTimeout_WithDeadline_UsesRemainingSecondsRoundedUp() {
+        Deadline.start(Duration.ofMillis(2500));
+
+        assertEquals(3, transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+    }
+
+    @Test
+    void determineTimeout_WithShorterDefinitionTimeout_KeepsDefinitionTimeout() {
+        Deadline.start(Duration.ofSeconds(30));
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setTimeout(5);
+
+        assertEquals(5, transactionManager.determineTimeout(definition));
+    }
+
+    @Test
+    void determineTimeout_AfterDeadline_Throws() {
+        Deadline.start(Duration.ofMillis(-1));
+
+        assertThrows(DeadlineExceededException.class,
+                () -> transactionManager.determineTimeout(new DefaultTransactionDefinition()));
+    }
+}
@@ -0,0 +1,83 @@
+package fi.vnest.speechtherapy.api.controller;
+
+import fi.vnest.speechtherapy.api.dto.WordResponse;
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.service.Cached;
+import fi.vnest.speechtherapy.api.service.WordService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WordListResponseCacheTest {
+
+    @Mock
+    private WordService wordService;
+
+    private WordListResponseCache cache;
+    private WordResponse verbWord;
+
+    @BeforeEach
+    void setUp() {
+        cache = new WordListResponseCache(wordService, Jackson2ObjectMapperBuilder.json().build(), 0);
+
+        Word word = new Word();
+        word.setId(2L);
+        word.setText("eats");
+        word.setType(WordType.VERB);
+        verbWord = WordResponse.fromEntity(word);
+    }
+
+    @Test
+    void get_WithSameWordList_ReusesSerializedBody() {
+        List<WordResponse> words = List.of(verbWord);
+        when(wordService.findAll(WordType.VERB)).thenReturn(new Cached<>(words, false, Instant.now()));
+
+        WordListResponseCache.Body first = cache.get(WordType.VERB).value();
+        WordListResponseCache.Body second = cache.get(WordType.VERB).value();
+
+        assertSame(first, second);
+        String json = new String(first.json(), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"success\":true,\"data\":[{\"id\":2,\"text\":\"eats\",\"type\":\"VERB\""));
+    }
+
+    @Test
+    void get_AfterWordListReload_SerializesAgain() {
+        Instant now = Instant.now();
+        when(wordService.findAll(WordType.VERB))
+                .thenReturn(new Cached<>(List.of(verbWord), false, now))
+                .thenReturn(new Cached<>(List.of(), false, now));
+
+        WordListResponseCache.Body first = cache.get(WordType.VERB).value();
+        WordListResponseCache.Body second = cache.get(WordType.VERB).value();
+
+        assertNotSame(first, second);
+        assertEquals("{\"success\":true,\"data\":[]}", new String(second.json(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_KeepsGzippedCopyAndStaleFlag() throws IOException {
+        when(wordService.findAll(null)).thenReturn(new Cached<>(List.of(verbWord), true, Instant.now()));
+
+        Cached<WordListResponseCache.Body> result = cache.get(null);
+
+        assertTrue(result.stale());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(result.value().gzip()))) {
+            assertArrayEquals(result.value().json(), gzip.readAllBytes());
+        }
+    }
+}
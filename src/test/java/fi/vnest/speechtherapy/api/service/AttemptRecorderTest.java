@@ -0,0 +1,127 @@
+package fi.vnest.speechtherapy.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AttemptRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new AttemptRecorder(jdbcTemplate, new SimpleMeterRegistry(), 5, 2);
+    }
+
+    @Test
+    void record_WhenQueueIsFull_DropsAttempt() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(recorder.record(attempt(i)));
+        }
+
+        assertFalse(recorder.record(attempt(5)));
+        assertEquals(1, recorder.droppedCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_WritesQueuedAttemptsInBatches() {
+        for (int i = 0; i < 5; i++) {
+            recorder.record(attempt(i));
+        }
+
+        recorder.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(AttemptRecorder.INSERT_SQL), argThat((List<Object[]> rows) -> rows.size() == 2));
+        verify(jdbcTemplate).batchUpdate(eq(AttemptRecorder.INSERT_SQL), argThat((List<Object[]> rows) -> rows.size() == 1));
+        assertEquals(5, recorder.writtenCount());
+        assertTrue(recorder.record(attempt(6)), "Flushed attempts must free queue capacity");
+    }
+
+    @Test
+    void flush_CreatesMonthlyPartitionsOnce() {
+        recorder.record(attempt(1));
+        recorder.flush();
+        recorder.record(attempt(2));
+        recorder.flush();
+
+        verify(jdbcTemplate, times(2)).execute(startsWith("SELECT vnest.create_attempt_partition"));
+    }
+
+    @Test
+    void flush_CreatesPartitionsFromEarliestMonthOfBatch() {
+        recorder.record(attempt(1, Instant.parse("2026-01-15T10:00:00Z")));
+        recorder.record(attempt(2, Instant.parse("2026-03-15T10:00:00Z")));
+
+        recorder.flush();
+
+        verify(jdbcTemplate).execute("SELECT vnest.create_attempt_partition(DATE '2026-01-01')");
+        verify(jdbcTemplate).execute("SELECT vnest.create_attempt_partition(DATE '2026-02-01')");
+        verify(jdbcTemplate).execute("SELECT vnest.create_attempt_partition(DATE '2026-03-01')");
+        verify(jdbcTemplate).execute("SELECT vnest.create_attempt_partition(DATE '2026-04-01')");
+    }
+
+    @Test
+    void flush_WhenPartitionCreationFails_RetriesWithNextBatch() {
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doNothing()
+                .when(jdbcTemplate).execute(startsWith("SELECT vnest.create_attempt_partition"));
+
+        recorder.record(attempt(1));
+        recorder.flush();
+        recorder.record(attempt(2));
+        recorder.flush();
+        recorder.record(attempt(3));
+        recorder.flush();
+
+        verify(jdbcTemplate, times(3)).execute(startsWith("SELECT vnest.create_attempt_partition"));
+        assertEquals(3, recorder.writtenCount());
+    }
+
+    @Test
+    void flush_WhenWriteFails_CountsFailedAttempts() {
+        when(jdbcTemplate.batchUpdate(eq(AttemptRecorder.INSERT_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"));
+        recorder.record(attempt(1));
+
+        recorder.flush();
+
+        assertEquals(1, recorder.failedCount());
+        assertEquals(0, recorder.writtenCount());
+    }
+
+    @Test
+    void stop_FlushesQueuedAttempts() {
+        recorder.start();
+        recorder.record(attempt(1));
+
+        recorder.stop();
+
+        assertEquals(1, recorder.writtenCount());
+        assertFalse(recorder.isRunning());
+    }
+
+    private static ValidationAttempt attempt(long subjectId) {
+        return attempt(subjectId, Instant.now());
+    }
+
+    private static ValidationAttempt attempt(long subjectId, Instant attemptedAt) {
+        return new ValidationAttempt(attemptedAt, "patient-1", "session-1", subjectId, 2L, 3L, true, 150);
+    }
+}
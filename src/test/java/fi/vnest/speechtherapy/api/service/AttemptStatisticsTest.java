@@ -0,0 +1,87 @@
+package fi.vnest.speechtherapy.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttemptStatisticsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttemptStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new AttemptStatistics(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void flush_WritesOneRowPerVerbAndPatientAndDay() {
+        statistics.record(attempt("patient-1", true));
+        statistics.record(attempt("patient-1", true));
+        statistics.record(attempt(null, false));
+
+        statistics.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(AttemptStatistics.UPSERT_VERB_SQL), argThat(hasSingleRow(2L, 3L, 2L)));
+        verify(jdbcTemplate).batchUpdate(eq(AttemptStatistics.UPSERT_PATIENT_SQL), argThat(hasSingleRow("patient-1", 2L, 2L)));
+    }
+
+    @Test
+    void flush_WithoutAttempts_WritesNothing() {
+        statistics.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_AfterFailedWrite_RetriesPendingCounts() {
+        when(jdbcTemplate.batchUpdate(eq(AttemptStatistics.UPSERT_VERB_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"))
+                .thenReturn(new int[]{1});
+        statistics.record(attempt(null, true));
+        statistics.flush();
+
+        statistics.record(attempt(null, false));
+        statistics.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(AttemptStatistics.UPSERT_VERB_SQL), argThat(hasSingleRow(2L, 2L, 1L)));
+    }
+
+    @Test
+    void flush_AfterSuccessfulWrite_ClearsPendingCounts() {
+        statistics.record(attempt(null, true));
+        statistics.flush();
+        statistics.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(AttemptStatistics.UPSERT_VERB_SQL), anyList());
+    }
+
+    private static ArgumentMatcher<List<Object[]>> hasSingleRow(Object id, long attempts, long correct) {
+        return rows -> rows.size() == 1
+                && rows.get(0)[0].equals(id)
+                && rows.get(0)[2].equals(attempts)
+                && rows.get(0)[3].equals(correct);
+    }
+
+    private static ValidationAttempt attempt(String patientId, boolean correct) {
+        return new ValidationAttempt(Instant.now(), patientId, null, 1L, 2L, 3L, correct, 150);
+    }
+}
@@ -0,0 +1,33 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.model.Word;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes catalog snapshot files for tests through CatalogSnapshot.Writer.
+ */
+final class CatalogSnapshotFiles {
+
+    private CatalogSnapshotFiles() {
+    }
+
+    /**
+     * @param words All words, sorted by ID.
+     * @param combinations All combinations, sorted by verb, subject and object ID.
+     * @throws IllegalArgumentException if the input is not sorted.
+     */
+    static void write(Path path, List<Word> words, List<CombinationIds> combinations) throws IOException {
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.Writer.create(path)) {
+            for (Word word : words) {
+                writer.addWord(word.getId(), word.getType(), word.getText());
+            }
+            for (CombinationIds combination : combinations) {
+                writer.addCombination(combination.verbId(), combination.subjectId(), combination.objectId());
+            }
+            writer.finish();
+        }
+    }
+}
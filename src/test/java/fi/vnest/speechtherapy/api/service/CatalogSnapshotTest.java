@@ -0,0 +1,122 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("catalog", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void open_ReturnsWrittenWordsAndCombinations() throws IOException {
+        CatalogSnapshotFiles.write(file, List.of(
+                word(1L, "Äiti", WordType.SUBJECT),
+                word(2L, "lukee", WordType.VERB),
+                word(3L, "kirjaa", WordType.OBJECT),
+                word(5L, "ajaa", WordType.VERB),
+                word(7L, "traktoria", WordType.OBJECT)
+        ), List.of(
+                new CombinationIds(1L, 2L, 3L),
+                new CombinationIds(1L, 5L, 7L)
+        ));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(5, snapshot.wordCount());
+        assertEquals(2, snapshot.tripleCount());
+        assertEquals("Äiti", snapshot.wordText(1L));
+        assertEquals("traktoria", snapshot.wordText(7L));
+        assertEquals(WordType.VERB, snapshot.wordType(5L));
+        assertNull(snapshot.wordText(4L));
+        assertNull(snapshot.wordType(8L));
+        assertEquals(5L, snapshot.verbIdAt(1));
+        assertEquals(1L, snapshot.subjectIdAt(1));
+        assertEquals(7L, snapshot.objectIdAt(1));
+    }
+
+    @Test
+    void containsCombination_FindsOnlyStoredTriples() throws IOException {
+        List<Word> words = List.of(word(1L, "a", WordType.SUBJECT));
+        List<CombinationIds> combinations = List.of(
+                new CombinationIds(1L, 2L, 3L),
+                new CombinationIds(4L, 2L, 3L),
+                new CombinationIds(1L, 2L, 6L),
+                new CombinationIds(1L, 5L, 3L)
+        );
+        CatalogSnapshotFiles.write(file, words, sortedByVerb(combinations));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        for (CombinationIds combination : combinations) {
+            assertTrue(snapshot.containsCombination(combination.subjectId(), combination.verbId(), combination.objectId()));
+        }
+        assertFalse(snapshot.containsCombination(3L, 2L, 1L));
+        assertFalse(snapshot.containsCombination(1L, 2L, 4L));
+        assertFalse(snapshot.containsCombination(0L, 0L, 0L));
+    }
+
+    @Test
+    void write_WithUnsortedCombinations_ThrowsIllegalArgumentException() {
+        List<CombinationIds> combinations = List.of(
+                new CombinationIds(1L, 5L, 3L),
+                new CombinationIds(1L, 2L, 3L)
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> CatalogSnapshotFiles.write(file, List.of(), combinations));
+    }
+
+    @Test
+    void writer_WithoutFinish_LeavesFileThatDoesNotOpen() throws IOException {
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.Writer.create(file)) {
+            writer.addWord(1L, WordType.SUBJECT, "Äiti");
+            writer.addCombination(2L, 1L, 3L);
+            assertThrows(IllegalStateException.class, () -> writer.addWord(4L, WordType.VERB, "lukee"));
+        }
+
+        assertThrows(IllegalStateException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    @Test
+    void open_WithForeignFile_ThrowsIllegalStateException() throws IOException {
+        Files.writeString(file, "not a snapshot file");
+
+        assertThrows(IllegalStateException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    private static List<CombinationIds> sortedByVerb(List<CombinationIds> combinations) {
+        return combinations.stream()
+                .sorted(Comparator.comparing(CombinationIds::verbId)
+                        .thenComparing(CombinationIds::subjectId)
+                        .thenComparing(CombinationIds::objectId))
+                .toList();
+    }
+
+    private static Word word(Long id, String text, WordType type) {
+        Word word = new Word();
+        word.setId(id);
+        word.setText(text);
+        word.setType(type);
+        return word;
+    }
+}
@@ -0,0 +1,133 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.BatchJobResponse;
+import fi.vnest.speechtherapy.api.dto.CombinationBatchRequest;
+import fi.vnest.speechtherapy.api.repository.AllowedCombinationRepository;
+import fi.vnest.speechtherapy.api.repository.WordRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CombinationBatchJobServiceTest {
+
+    @Mock
+    private AllowedCombinationRepository combinationRepository;
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void submit_WithValidRequest_InsertsCrossProductAndReportsCounts() {
+        CombinationBatchJobService service = newService(Runnable::run);
+        when(wordRepository.existsById(2L)).thenReturn(true);
+        when(combinationRepository.insertCrossProduct(2L, List.of(1L, 4L, 5L), List.of(3L, 6L))).thenReturn(4);
+
+        BatchJobResponse submitted = service.submit(batchRequest(2L, List.of(1L, 4L, 5L, 4L), List.of(3L, 6L)));
+        BatchJobResponse result = service.getJob(submitted.jobId());
+
+        assertEquals(BatchJobResponse.Status.COMPLETED, result.status());
+        assertEquals(6, result.totalPairs());
+        assertEquals(6, result.processedPairs());
+        assertEquals(4, result.created());
+        assertEquals(2, result.skipped());
+        assertNotNull(result.finishedAt());
+        verify(eventPublisher).publishEvent(any(CatalogChangedEvent.class));
+    }
+
+    @Test
+    void submit_WithLargeBatch_InsertsInBoundedChunks() {
+        CombinationBatchJobService service = newService(Runnable::run);
+        when(wordRepository.existsById(2L)).thenReturn(true);
+        List<Long> subjectIds = LongStream.rangeClosed(1, 20).boxed().toList();
+        List<Long> objectIds = LongStream.rangeClosed(101, 1600).boxed().toList();
+
+        BatchJobResponse submitted = service.submit(batchRequest(2L, subjectIds, objectIds));
+
+        verify(combinationRepository, times(4)).insertCrossProduct(eq(2L),
+                argThat(ids -> ids.size() <= CombinationBatchJobService.MAX_IDS_PER_CHUNK),
+                argThat(ids -> ids.size() <= CombinationBatchJobService.MAX_IDS_PER_CHUNK));
+        assertEquals(30000, service.getJob(submitted.jobId()).processedPairs());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void cancelJob_BeforeStart_SkipsAllChunks() {
+        List<Runnable> queued = new ArrayList<>();
+        CombinationBatchJobService service = newService(queued::add);
+        when(wordRepository.existsById(2L)).thenReturn(true);
+
+        BatchJobResponse submitted = service.submit(batchRequest(2L, List.of(1L), List.of(3L)));
+        assertEquals(BatchJobResponse.Status.QUEUED, submitted.status());
+
+        service.cancelJob(submitted.jobId());
+        queued.forEach(Runnable::run);
+
+        assertEquals(BatchJobResponse.Status.CANCELLED, service.getJob(submitted.jobId()).status());
+        verifyNoInteractions(combinationRepository);
+    }
+
+    @Test
+    void submit_WhenChunkFails_MarksJobFailed() {
+        CombinationBatchJobService service = newService(Runnable::run);
+        when(wordRepository.existsById(2L)).thenReturn(true);
+        when(combinationRepository.insertCrossProduct(anyLong(), anyCollection(), anyCollection()))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        BatchJobResponse submitted = service.submit(batchRequest(2L, List.of(1L), List.of(3L)));
+        BatchJobResponse result = service.getJob(submitted.jobId());
+
+        assertEquals(BatchJobResponse.Status.FAILED, result.status());
+        assertEquals("Connection lost", result.error());
+    }
+
+    @Test
+    void submit_WithInvalidVerbId_ThrowsNoSuchElementException() {
+        CombinationBatchJobService service = newService(Runnable::run);
+        when(wordRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class,
+                () -> service.submit(batchRequest(999L, List.of(1L), List.of(3L))));
+        verifyNoInteractions(combinationRepository);
+    }
+
+    @Test
+    void getJob_WithUnknownId_ThrowsNoSuchElementException() {
+        CombinationBatchJobService service = newService(Runnable::run);
+
+        assertThrows(NoSuchElementException.class, () -> service.getJob(UUID.randomUUID()));
+    }
+
+    private CombinationBatchJobService newService(Executor executor) {
+        return new CombinationBatchJobService(
+                combinationRepository, wordRepository, eventPublisher, transactionManager, executor);
+    }
+
+    private static CombinationBatchRequest batchRequest(Long verbId, List<Long> subjectIds, List<Long> objectIds) {
+        CombinationBatchRequest request = new CombinationBatchRequest();
+        request.setVerbId(verbId);
+        request.setSubjectIds(subjectIds);
+        request.setObjectIds(objectIds);
+        return request;
+    }
+}
@@ -0,0 +1,11 @@
+package fi.vnest.speechtherapy.api.service;
+
+/**
+ * The three word IDs of a combination, for writing snapshot files in tests.
+ */
+record CombinationIds(
+        Long subjectId,
+        Long verbId,
+        Long objectId
+) {
+}
@@ -2,17 +2,32 @@ package fi.vnest.speechtherapy.api.service;
 
 import fi.vnest.speechtherapy.api.dto.*;
 import fi.vnest.speechtherapy.api.model.AllowedCombination;
+import fi.vnest.speechtherapy.api.model.VerbCombinationSummary;
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.model.WordType;
 import fi.vnest.speechtherapy.api.repository.AllowedCombinationRepository;
+import fi.vnest.speechtherapy.api.repository.VerbCombinationSummaryRepository;
 import fi.vnest.speechtherapy.api.repository.WordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +43,24 @@ class CombinationServiceTest {
     @Mock
     private WordRepository wordRepository;
 
+    @Mock
+    private VerbCombinationSummaryRepository summaryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogSnapshotService snapshotService;
+
+    @Mock
+    private AttemptRecorder attemptRecorder;
+
+    @Mock
+    private AttemptStatistics attemptStatistics;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CombinationService combinationService;
 
@@ -82,6 +115,74 @@ class CombinationServiceTest {
         verify(combinationRepository, never()).findAll();
     }
 
+    @Test
+    void findPage_WithoutVerbId_CountsFromSummaries() {
+        when(combinationRepository.findPage(any(Pageable.class))).thenReturn(List.of(allowedCombination));
+        when(summaryRepository.sumCombinationCounts()).thenReturn(250L);
+
+        Page<AllowedCombination> result = combinationService.findPage(CombinationFilter.none(), 2, 100, null);
+
+        assertEquals(List.of(allowedCombination), result.getContent());
+        assertEquals(250L, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+        verify(combinationRepository).findPage(PageRequest.of(2, 100, Sort.by("id")));
+        verify(combinationRepository, never()).count();
+    }
+
+    @Test
+    void findPage_WithAfterId_ReadsPageByKeyset() {
+        when(combinationRepository.findByIdGreaterThan(eq(500L), any(Pageable.class))).thenReturn(List.of(allowedCombination));
+        when(summaryRepository.sumCombinationCounts()).thenReturn(250L);
+
+        Page<AllowedCombination> result = combinationService.findPage(CombinationFilter.none(), 2, 100, 500L);
+
+        assertEquals(List.of(allowedCombination), result.getContent());
+        assertEquals(2, result.getNumber());
+        assertEquals(250L, result.getTotalElements());
+        verify(combinationRepository).findByIdGreaterThan(500L, PageRequest.of(0, 100, Sort.by("id")));
+        verify(combinationRepository, never()).findPage(any(Pageable.class));
+    }
+
+    @Test
+    void findPage_WithVerbAndAfterId_ReadsVerbPageByKeyset() {
+        when(combinationRepository.findByVerbIdAndIdGreaterThan(eq(2L), eq(500L), any(Pageable.class)))
+                .thenReturn(List.of(allowedCombination));
+        when(summaryRepository.findCombinationCountByVerbId(2L)).thenReturn(Optional.of(101));
+
+        Page<AllowedCombination> result = combinationService.findPage(CombinationFilter.byVerb(2L), 1, 100, 500L);
+
+        assertEquals(List.of(allowedCombination), result.getContent());
+        assertEquals(101L, result.getTotalElements());
+        verify(combinationRepository, never()).findByVerbId(eq(2L), any(Pageable.class));
+    }
+
+    @Test
+    void findPage_WithVerbWithoutCombinations_ReturnsEmptyPage() {
+        when(combinationRepository.findByVerbId(eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(summaryRepository.findCombinationCountByVerbId(2L)).thenReturn(Optional.empty());
+
+        Page<AllowedCombination> result = combinationService.findPage(CombinationFilter.byVerb(2L), 0, 100, null);
+
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(0L, result.getTotalElements());
+    }
+
+    @Test
+    void findPage_WithSlotOrTextFilter_QueriesWithSpecificationAndCount() {
+        CombinationFilter filter = new CombinationFilter(null, 1L, null, "fish");
+        PageRequest pageable = PageRequest.of(0, 100, Sort.by("id"));
+        when(combinationRepository.findAll(ArgumentMatchers.<Specification<AllowedCombination>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(allowedCombination), pageable, 1));
+
+        Page<AllowedCombination> result = combinationService.findPage(filter, 0, 100, 500L);
+
+        assertEquals(List.of(allowedCombination), result.getContent());
+        assertEquals(1L, result.getTotalElements());
+        verify(summaryRepository, never()).sumCombinationCounts();
+        verify(combinationRepository, never()).findPage(any(Pageable.class));
+        verify(combinationRepository, never()).findByIdGreaterThan(anyLong(), any(Pageable.class));
+    }
+
     // ========== createCombination Tests ==========
 
     @Test
@@ -210,6 +311,25 @@ class CombinationServiceTest {
         verify(combinationRepository).saveAll(anyList());
     }
 
+    @Test
+    void createCombinationsBatch_WithRepeatedIds_CreatesEachCombinationOnce() {
+        CombinationBatchRequest batchRequest = new CombinationBatchRequest();
+        batchRequest.setVerbId(2L);
+        batchRequest.setSubjectIds(List.of(1L, 1L));
+        batchRequest.setObjectIds(List.of(3L, 3L, 3L));
+
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(verbWord));
+        when(wordRepository.findAllById(anyList())).thenReturn(List.of(subjectWord, objectWord));
+        when(combinationRepository.findBySubjectIdAndVerbIdAndObjectId(1L, 2L, 3L)).thenReturn(Optional.empty());
+        when(combinationRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<AllowedCombination> result = combinationService.createCombinationsBatch(batchRequest);
+
+        assertEquals(1, result.size());
+        verify(combinationRepository, times(1)).findBySubjectIdAndVerbIdAndObjectId(1L, 2L, 3L);
+    }
+
     @Test
     void createCombinationsBatch_WithInvalidVerbId_ThrowsNoSuchElementException() {
         CombinationBatchRequest batchRequest = new CombinationBatchRequest();
@@ -247,28 +367,97 @@ class CombinationServiceTest {
         //verify(combinationRepository).saveAll(argThat(List::isEmpty));
     }
 
+    @Test
+    void previewCombinationsBatch_CountsNewAndExistingWithoutWriting() {
+        CombinationBatchRequest batchRequest = new CombinationBatchRequest();
+        batchRequest.setVerbId(2L);
+        batchRequest.setSubjectIds(List.of(1L, 4L, 998L));
+        batchRequest.setObjectIds(List.of(3L, 5L, 999L));
+
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(verbWord));
+        when(wordRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 3L, 4L, 5L));
+        when(combinationRepository.countByVerbIdAndSubjectIdInAndObjectIdIn(eq(2L), anyCollection(), anyCollection()))
+                .thenReturn(1L);
+
+        CombinationBatchPreview preview = combinationService.previewCombinationsBatch(batchRequest);
+
+        assertEquals(3, preview.newCount());
+        assertEquals(1, preview.existingCount());
+        assertEquals(List.of(998L), preview.invalidSubjectIds());
+        assertEquals(List.of(999L), preview.invalidObjectIds());
+        verify(combinationRepository, never()).saveAll(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // ========== cloneCombinations Tests ==========
+
+    @Test
+    void cloneCombinations_CopiesInSingleStatementAndPublishesChange() {
+        Word synonym = new Word();
+        synonym.setId(6L);
+        synonym.setText("devours");
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(verbWord));
+        when(wordRepository.findById(6L)).thenReturn(Optional.of(synonym));
+        when(combinationRepository.copyVerbCombinations(2L, 6L)).thenReturn(4);
+
+        int created = combinationService.cloneCombinations(2L, 6L);
+
+        assertEquals(4, created);
+        verify(combinationRepository, never()).findBySubjectIdAndVerbIdAndObjectId(anyLong(), anyLong(), anyLong());
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.combinationsChanged());
+    }
+
+    @Test
+    void cloneCombinations_WithNonExistingTargetVerb_ThrowsNoSuchElementException() {
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(verbWord));
+        when(wordRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> combinationService.cloneCombinations(2L, 999L));
+        verify(combinationRepository, never()).copyVerbCombinations(anyLong(), anyLong());
+    }
+
     // ========== deleteCombination Tests ==========
 
     @Test
     void deleteCombination_WithExistingId_DeletesCombination() {
         Long combinationId = 1L;
-        when(combinationRepository.existsById(combinationId)).thenReturn(true);
+        when(combinationRepository.deleteCombinationById(combinationId)).thenReturn(1);
 
         combinationService.deleteCombination(combinationId);
 
-        verify(combinationRepository).deleteById(combinationId);
+        verify(combinationRepository).deleteCombinationById(combinationId);
+        verify(combinationRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.combinationsChanged());
     }
 
     @Test
     void deleteCombination_WithNonExistingId_ThrowsNoSuchElementException() {
         Long combinationId = 999L;
-        when(combinationRepository.existsById(combinationId)).thenReturn(false);
+        when(combinationRepository.deleteCombinationById(combinationId)).thenReturn(0);
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
                 () -> combinationService.deleteCombination(combinationId));
 
         assertTrue(exception.getMessage().contains("Allowed combination not found"));
-        verify(combinationRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteCombinations_WithIds_ReturnsDeletedCount() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(combinationRepository.deleteAllByIdIn(ids)).thenReturn(2);
+
+        int deleted = combinationService.deleteCombinations(ids);
+
+        assertEquals(2, deleted);
+    }
+
+    @Test
+    void deleteCombinations_WithEmptyList_SkipsQuery() {
+        int deleted = combinationService.deleteCombinations(List.of());
+
+        assertEquals(0, deleted);
+        verify(combinationRepository, never()).deleteAllByIdIn(any());
     }
 
     // ========== deleteCombinationsByVerb Tests ==========
@@ -276,32 +465,67 @@ class CombinationServiceTest {
     @Test
     void deleteCombinationsByVerb_WithExistingVerbId_DeletesCombinations() {
         Long verbId = 2L;
-        when(wordRepository.existsById(verbId)).thenReturn(true);
+        when(combinationRepository.deleteAllByVerbId(verbId)).thenReturn(5);
 
-        combinationService.deleteCombinationsByVerb(verbId);
+        int deleted = combinationService.deleteCombinationsByVerb(verbId);
 
+        assertEquals(5, deleted);
         verify(combinationRepository).deleteAllByVerbId(verbId);
+        verify(wordRepository, never()).existsById(any());
+    }
+
+    @Test
+    void deleteCombinationsByVerb_WithVerbWithoutCombinations_ReturnsZero() {
+        Long verbId = 2L;
+        when(combinationRepository.deleteAllByVerbId(verbId)).thenReturn(0);
+        when(wordRepository.existsById(verbId)).thenReturn(true);
+
+        int deleted = combinationService.deleteCombinationsByVerb(verbId);
+
+        assertEquals(0, deleted);
     }
 
     @Test
     void deleteCombinationsByVerb_WithNonExistingVerbId_ThrowsNoSuchElementException() {
         Long verbId = 999L;
+        when(combinationRepository.deleteAllByVerbId(verbId)).thenReturn(0);
         when(wordRepository.existsById(verbId)).thenReturn(false);
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
                 () -> combinationService.deleteCombinationsByVerb(verbId));
 
         assertTrue(exception.getMessage().contains("Verb word not found"));
-        verify(combinationRepository, never()).deleteAllByVerbId(any());
+    }
+
+    @Test
+    void deleteCombinationsBySubject_WithExistingSubjectId_DeletesCombinations() {
+        when(combinationRepository.deleteAllBySubjectId(1L)).thenReturn(3);
+
+        int deleted = combinationService.deleteCombinationsBySubject(1L);
+
+        assertEquals(3, deleted);
+        verify(combinationRepository).deleteAllBySubjectId(1L);
+    }
+
+    @Test
+    void deleteCombinationsByObject_WithNonExistingObjectId_ThrowsNoSuchElementException() {
+        when(combinationRepository.deleteAllByObjectId(999L)).thenReturn(0);
+        when(wordRepository.existsById(999L)).thenReturn(false);
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class,
+                () -> combinationService.deleteCombinationsByObject(999L));
+
+        assertTrue(exception.getMessage().contains("Object word not found"));
     }
 
     @Test
     void getExerciseSuggestions_ReturnsCorrectStructure() {
-        when(combinationRepository.findAll()).thenReturn(List.of(allowedCombination));
+        when(summaryRepository.findAllWithVerb())
+                .thenReturn(List.of(new VerbCombinationSummary(verbWord, List.of(1L), List.of(3L), 1)));
         when(wordRepository.findAllById(Set.of(1L))).thenReturn(List.of(subjectWord));
         when(wordRepository.findAllById(Set.of(3L))).thenReturn(List.of(objectWord));
 
-        SuggestionResponse result = combinationService.getExerciseSuggestions(null);
+        SuggestionResponse result = combinationService.getExerciseSuggestions(null).value();
 
         assertNotNull(result);
         assertEquals(1, result.verbs().size());
@@ -321,9 +545,8 @@ class CombinationServiceTest {
         subject2.setId(4L);
         subject2.setText("dog");
 
-        AllowedCombination otherCombination = new AllowedCombination(subject2, verbWord, objectWord);
-
-        when(combinationRepository.findAll()).thenReturn(List.of(allowedCombination, otherCombination));
+        when(summaryRepository.findAllWithVerb())
+                .thenReturn(List.of(new VerbCombinationSummary(verbWord, List.of(1L, 4L), List.of(3L), 2)));
 
         // Mock separate calls for subjects and objects
         when(wordRepository.findAllById(argThat(ids -> {
@@ -340,7 +563,7 @@ class CombinationServiceTest {
             return idList.size() == 1 && idList.contains(3L);
         }))).thenReturn(List.of(objectWord));
 
-        SuggestionResponse result = combinationService.getExerciseSuggestions(null);
+        SuggestionResponse result = combinationService.getExerciseSuggestions(null).value();
 
         assertNotNull(result);
         assertEquals(1, result.verbs().size());
@@ -353,6 +576,76 @@ class CombinationServiceTest {
         assertTrue(verbSuggestion.compatibleSubjectIds().contains(4L));
     }
 
+    @Test
+    void getExerciseSuggestions_WithDifferentLimits_SharesOneCacheEntry() {
+        when(summaryRepository.findAllWithVerb()).thenReturn(List.of());
+
+        SuggestionResponse first = combinationService.getExerciseSuggestions(10).value();
+        SuggestionResponse second = combinationService.getExerciseSuggestions(20).value();
+
+        assertSame(first, second);
+        verify(summaryRepository, times(1)).findAllWithVerb();
+    }
+
+    @Test
+    void getVerbSuggestion_WithSummary_ReturnsCompatibleIds() {
+        when(summaryRepository.findWithVerbByVerbId(2L))
+                .thenReturn(Optional.of(new VerbCombinationSummary(verbWord, List.of(1L, 4L), List.of(3L), 2)));
+
+        VerbSuggestion result = combinationService.getVerbSuggestion(2L).value();
+
+        assertEquals("eats", result.text());
+        assertEquals(List.of(1L, 4L), result.compatibleSubjectIds());
+        assertEquals(List.of(3L), result.compatibleObjectIds());
+        verifyNoInteractions(combinationRepository);
+    }
+
+    @Test
+    void getVerbSuggestion_WithVerbWithoutCombinations_ReturnsEmptyLists() {
+        when(summaryRepository.findWithVerbByVerbId(2L)).thenReturn(Optional.empty());
+        when(wordRepository.findById(2L)).thenReturn(Optional.of(verbWord));
+
+        VerbSuggestion result = combinationService.getVerbSuggestion(2L).value();
+
+        assertEquals(2L, result.id());
+        assertTrue(result.compatibleSubjectIds().isEmpty());
+        assertTrue(result.compatibleObjectIds().isEmpty());
+    }
+
+    @Test
+    void getVerbSuggestion_WithNonExistingVerbId_ThrowsNoSuchElementException() {
+        when(summaryRepository.findWithVerbByVerbId(999L)).thenReturn(Optional.empty());
+        when(wordRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> combinationService.getVerbSuggestion(999L));
+    }
+
+    @Test
+    void getCompatibleVerbs_WithIndex_ReadsFromIndex(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFiles.write(file, List.of(subjectWord, verbWord, objectWord), List.of(new CombinationIds(1L, 2L, 3L)));
+        when(snapshotService.compatibilityIndex()).thenReturn(CompatibilityIndex.build(CatalogSnapshot.open(file)));
+
+        List<WordReference> verbs = combinationService.getCompatibleVerbs(1L, 3L);
+        List<WordReference> objects = combinationService.getCompatibleObjects(1L, 2L);
+
+        assertEquals(1, verbs.size());
+        assertEquals(2L, verbs.get(0).getId());
+        assertEquals("eats", verbs.get(0).getText());
+        assertEquals(3L, objects.get(0).getId());
+        assertTrue(combinationService.getCompatibleVerbs(3L, 1L).isEmpty());
+        verifyNoInteractions(wordRepository);
+    }
+
+    @Test
+    void getCompatibleObjects_WithoutIndex_QueriesDatabase() {
+        when(wordRepository.findCompatibleObjects(1L, 2L)).thenReturn(List.of(objectWord));
+
+        List<WordReference> objects = combinationService.getCompatibleObjects(1L, 2L);
+
+        assertEquals(1, objects.size());
+        assertEquals("fish", objects.get(0).getText());
+    }
 
     @Test
     void validateCombination_WithValidCombination_ReturnsSuccessResponse() {
@@ -367,6 +660,21 @@ class CombinationServiceTest {
         assertEquals("Oikein! Hyvä lause.", result.message());
     }
 
+    @Test
+    void validateCombination_RecordsAttempt() {
+        ValidationRequest request = new ValidationRequest(1L, 2L, 3L, "patient-1", "session-1");
+        when(combinationRepository.findBySubjectIdAndVerbIdAndObjectId(1L, 2L, 3L))
+                .thenReturn(Optional.of(allowedCombination));
+
+        combinationService.validateCombination(request);
+
+        verify(attemptRecorder).record(argThat(attempt -> attempt.correct()
+                && attempt.patientId().equals("patient-1")
+                && attempt.sessionId().equals("session-1")
+                && attempt.subjectId() == 1L && attempt.verbId() == 2L && attempt.objectId() == 3L));
+        verify(attemptStatistics).record(argThat(ValidationAttempt::correct));
+    }
+
     @Test
     void validateCombination_WithInvalidCombination_ReturnsFailureResponse() {
         ValidationRequest request = new ValidationRequest(1L, 2L, 3L);
@@ -398,4 +706,20 @@ class CombinationServiceTest {
         assertTrue(result.sentence().contains("[Unknown Subject]"));
         assertEquals("Väärin. Tuo lause ei ole sallittu.", result.message());
     }
+
+    @Test
+    void validateCombination_WithSnapshot_ReadsFromSnapshot(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFiles.write(file, List.of(subjectWord, verbWord, objectWord), List.of(new CombinationIds(1L, 2L, 3L)));
+        when(snapshotService.current()).thenReturn(CatalogSnapshot.open(file));
+
+        ValidationResponse valid = combinationService.validateCombination(new ValidationRequest(1L, 2L, 3L));
+        ValidationResponse invalid = combinationService.validateCombination(new ValidationRequest(3L, 2L, 999L));
+
+        assertTrue(valid.valid());
+        assertEquals("cat eats fish", valid.sentence());
+        assertFalse(invalid.valid());
+        assertEquals("fish eats [Unknown Object]", invalid.sentence());
+        verifyNoInteractions(combinationRepository, wordRepository);
+    }
 }
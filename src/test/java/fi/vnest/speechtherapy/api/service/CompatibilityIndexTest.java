@@ -0,0 +1,145 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompatibilityIndexTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("catalog", ".snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void verbsFor_ReturnsSortedVerbsOfSubjectAndObject() throws IOException {
+        CompatibilityIndex index = build(List.of(
+                word(1L, "Äiti", WordType.SUBJECT),
+                word(2L, "lukee", WordType.VERB),
+                word(3L, "kirjaa", WordType.OBJECT),
+                word(4L, "ostaa", WordType.VERB)
+        ), List.of(
+                new CombinationIds(1L, 4L, 3L),
+                new CombinationIds(1L, 2L, 3L)
+        ));
+
+        assertArrayEquals(new long[]{2L, 4L}, index.verbsFor(1L, 3L));
+        assertArrayEquals(new long[0], index.verbsFor(3L, 1L));
+        assertEquals("ostaa", index.wordText(4L));
+        assertNull(index.wordText(5L));
+    }
+
+    @Test
+    void objectsFor_ReturnsObjectsOfSubjectAndVerb() throws IOException {
+        CompatibilityIndex index = build(List.of(), List.of(
+                new CombinationIds(1L, 2L, 7L),
+                new CombinationIds(1L, 2L, 3L),
+                new CombinationIds(1L, 5L, 3L),
+                new CombinationIds(6L, 2L, 8L)
+        ));
+
+        assertArrayEquals(new long[]{3L, 7L}, index.objectsFor(1L, 2L));
+        assertArrayEquals(new long[]{3L}, index.objectsFor(1L, 5L));
+        assertArrayEquals(new long[]{8L}, index.objectsFor(6L, 2L));
+        assertArrayEquals(new long[0], index.objectsFor(6L, 5L));
+    }
+
+    @Test
+    void build_WithLargeCatalog_FindsEveryPair() throws IOException {
+        List<CombinationIds> combinations = new ArrayList<>();
+        for (long subject = 1; subject <= 200; subject++) {
+            for (long verb = 1000; verb < 1050; verb++) {
+                combinations.add(new CombinationIds(subject, verb, 5000 + (subject + verb) % 7));
+            }
+        }
+
+        CompatibilityIndex index = build(List.of(), combinations);
+
+        for (long subject = 1; subject <= 200; subject++) {
+            for (long verb = 1000; verb < 1050; verb++) {
+                assertArrayEquals(new long[]{5000 + (subject + verb) % 7}, index.objectsFor(subject, verb));
+            }
+        }
+        assertEquals(50, index.verbsFor(1L, 5000L).length + index.verbsFor(1L, 5001L).length
+                + index.verbsFor(1L, 5002L).length + index.verbsFor(1L, 5003L).length
+                + index.verbsFor(1L, 5004L).length + index.verbsFor(1L, 5005L).length
+                + index.verbsFor(1L, 5006L).length);
+    }
+
+    @Test
+    void build_WithEmptyCatalog_FindsNothing() throws IOException {
+        CompatibilityIndex index = build(List.of(), List.of());
+
+        assertArrayEquals(new long[0], index.verbsFor(1L, 2L));
+        assertArrayEquals(new long[0], index.objectsFor(-1L, 1L << 40));
+    }
+
+    @Test
+    void build_WithIdBeyond32Bits_Throws() throws IOException {
+        CatalogSnapshotFiles.write(file, List.of(), List.of(new CombinationIds(1L << 32, 2L, 3L)));
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertThrows(IllegalArgumentException.class, () -> CompatibilityIndex.build(snapshot));
+    }
+
+    @Test
+    void builder_WithStreamedRows_IndexesPairsAndWordTexts() {
+        CompatibilityIndex.Builder builder = new CompatibilityIndex.Builder();
+        for (long id = 1; id <= 3000; id++) {
+            builder.addWord(id, "sana" + id);
+        }
+        for (long object = 2001; object <= 3000; object++) {
+            builder.addCombination(1001L, 1L, object);
+        }
+
+        CompatibilityIndex index = builder.build();
+
+        assertEquals(1000, index.objectsFor(1L, 1001L).length);
+        assertArrayEquals(new long[]{1001L}, index.verbsFor(1L, 2500L));
+        assertEquals("sana2500", index.wordText(2500L));
+        assertNull(index.wordText(3001L));
+    }
+
+    @Test
+    void builder_WithUnsortedWords_Throws() {
+        CompatibilityIndex.Builder builder = new CompatibilityIndex.Builder();
+        builder.addWord(2L, "lukee");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addWord(1L, "Äiti"));
+    }
+
+    private CompatibilityIndex build(List<Word> words, List<CombinationIds> combinations) throws IOException {
+        CatalogSnapshotFiles.write(file, words, combinations.stream()
+                .sorted(Comparator.comparing(CombinationIds::verbId)
+                        .thenComparing(CombinationIds::subjectId)
+                        .thenComparing(CombinationIds::objectId))
+                .toList());
+        return CompatibilityIndex.build(CatalogSnapshot.open(file));
+    }
+
+    private static Word word(Long id, String text, WordType type) {
+        Word word = new Word();
+        word.setId(id);
+        word.setText(text);
+        word.setType(type);
+        return word;
+    }
+}
@@ -0,0 +1,99 @@
+package fi.vnest.speechtherapy.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SingleFlight<String, Integer> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void execute_WithConcurrentCallers_ComputesOnce() throws Exception {
+        int callers = 8;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch computationStarted = new CountDownLatch(1);
+        CountDownLatch releaseComputation = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                computations.incrementAndGet();
+                computationStarted.countDown();
+                await(releaseComputation);
+                return 42;
+            })));
+            computationStarted.await(5, TimeUnit.SECONDS);
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    computations.incrementAndGet();
+                    return -1;
+                })));
+            }
+            waitUntil(() -> singleFlight.coalescedCount() == callers - 1);
+            releaseComputation.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(1, singleFlight.computedCount());
+        assertEquals(callers - 1, singleFlight.coalescedCount());
+    }
+
+    @Test
+    void execute_AfterCompletion_ComputesAgain() {
+        assertEquals(1, singleFlight.execute("key", () -> 1));
+        assertEquals(2, singleFlight.execute("key", () -> 2));
+        assertEquals(2, singleFlight.computedCount());
+    }
+
+    @Test
+    void execute_WithNullKey_Works() {
+        assertEquals(7, singleFlight.execute(null, () -> 7));
+    }
+
+    @Test
+    void execute_WhenComputationFails_RethrowsAndAllowsRetry() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute("key", () -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        assertEquals("database down", exception.getMessage());
+        assertEquals(3, singleFlight.execute("key", () -> 3));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.call() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fi.vnest.speechtherapy.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleCacheTest {
+
+    private ScheduledExecutorService refresher;
+    private StaleCache<String, String> cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<String> databaseValue = new AtomicReference<>("v1");
+    private volatile boolean databaseDown;
+
+    private final Supplier<String> loader = () -> {
+        loads.incrementAndGet();
+        if (databaseDown) {
+            throw new DataAccessResourceFailureException("connection refused");
+        }
+        return databaseValue.get();
+    };
+
+    @BeforeEach
+    void setUp() {
+        refresher = Executors.newSingleThreadScheduledExecutor();
+        cache = new StaleCache<>("test", Duration.ofMinutes(1), refresher, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.shutdownNow();
+    }
+
+    @Test
+    void get_ServesLoadedValueFromMemory() {
+        Cached<String> first = cache.get("key", loader);
+        Cached<String> second = cache.get("key", loader);
+
+        assertEquals("v1", first.value());
+        assertFalse(first.stale());
+        assertEquals("v1", second.value());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_AfterInvalidateAll_Reloads() {
+        cache.get("key", loader);
+        databaseValue.set("v2");
+        cache.invalidateAll();
+
+        Cached<String> result = cache.get("key", loader);
+
+        assertEquals("v2", result.value());
+        assertFalse(result.stale());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenDatabaseFails_ServesStaleValueUntilRefreshSucceeds() {
+        cache.get("key", loader);
+        cache.invalidateAll();
+        databaseDown = true;
+
+        Cached<String> stale = cache.get("key", loader);
+        assertEquals("v1", stale.value());
+        assertTrue(stale.stale());
+        assertTrue(cache.isRefreshing("key"));
+
+        // While the refresh is pending, reads do not wait for the database
+        int loadsBefore = loads.get();
+        assertTrue(cache.get("key", loader).stale());
+        assertEquals(loadsBefore, loads.get());
+        assertEquals(2, cache.staleServedCount());
+
+        databaseValue.set("v2");
+        databaseDown = false;
+        waitUntil(() -> !cache.isRefreshing("key"));
+
+        Cached<String> fresh = cache.get("key", loader);
+        assertEquals("v2", fresh.value());
+        assertFalse(fresh.stale());
+    }
+
+    @Test
+    void get_WhenDatabaseFailsWithoutFallback_Rethrows() {
+        databaseDown = true;
+
+        assertThrows(DataAccessResourceFailureException.class, () -> cache.get("key", loader));
+        assertFalse(cache.isRefreshing("key"));
+    }
+
+    @Test
+    void get_WithOtherError_RethrowsInsteadOfServingStale() {
+        cache.get("key", loader);
+        cache.invalidateAll();
+
+        assertThrows(NoSuchElementException.class, () -> cache.get("key", () -> {
+            throw new NoSuchElementException("gone");
+        }));
+        assertEquals(0, cache.staleServedCount());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package fi.vnest.speechtherapy.api.service;
 
+import fi.vnest.speechtherapy.api.dto.BootstrapResponse;
+import fi.vnest.speechtherapy.api.dto.WordBulkMapping;
+import fi.vnest.speechtherapy.api.dto.WordBulkResponse;
 import fi.vnest.speechtherapy.api.dto.WordRequest;
+import fi.vnest.speechtherapy.api.dto.WordResponse;
 import fi.vnest.speechtherapy.api.model.Word;
 import fi.vnest.speechtherapy.api.model.WordType;
+import fi.vnest.speechtherapy.api.repository.WordCombinationCount;
 import fi.vnest.speechtherapy.api.repository.WordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -25,6 +39,12 @@ class WordServiceTest {
     @Mock
     private WordRepository wordRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private WordService wordService;
 
@@ -55,23 +75,34 @@ class WordServiceTest {
         List<Word> expected = List.of(subjectWord, verbWord, objectWord);
         when(wordRepository.findAll()).thenReturn(expected);
 
-        List<Word> result = wordService.findAll(null);
+        List<WordResponse> result = wordService.findAll(null).value();
 
         assertEquals(3, result.size());
-        assertEquals(expected, result);
+        assertEquals(expected.stream().map(Word::getId).toList(), result.stream().map(WordResponse::getId).toList());
         verify(wordRepository).findAll();
         verify(wordRepository, never()).findByType(any());
     }
 
+    @Test
+    void findAll_ReturnsUnmodifiableDtos() {
+        when(wordRepository.findByType(WordType.VERB)).thenReturn(List.of(verbWord));
+
+        List<WordResponse> result = wordService.findAll(WordType.VERB).value();
+        verbWord.setText("drinks");
+
+        assertEquals("eats", result.get(0).getText());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(new WordResponse()));
+    }
+
     @Test
     void findAll_WithSubjectType_ReturnsOnlySubjects() {
         List<Word> expected = List.of(subjectWord);
         when(wordRepository.findByType(WordType.SUBJECT)).thenReturn(expected);
 
-        List<Word> result = wordService.findAll(WordType.SUBJECT);
+        List<WordResponse> result = wordService.findAll(WordType.SUBJECT).value();
 
         assertEquals(1, result.size());
-        assertEquals(expected, result);
+        assertEquals(expected.stream().map(Word::getId).toList(), result.stream().map(WordResponse::getId).toList());
         assertEquals(WordType.SUBJECT, result.get(0).getType());
         verify(wordRepository).findByType(WordType.SUBJECT);
         verify(wordRepository, never()).findAll();
@@ -82,10 +113,10 @@ class WordServiceTest {
         List<Word> expected = List.of(verbWord);
         when(wordRepository.findByType(WordType.VERB)).thenReturn(expected);
 
-        List<Word> result = wordService.findAll(WordType.VERB);
+        List<WordResponse> result = wordService.findAll(WordType.VERB).value();
 
         assertEquals(1, result.size());
-        assertEquals(expected, result);
+        assertEquals(expected.stream().map(Word::getId).toList(), result.stream().map(WordResponse::getId).toList());
         assertEquals(WordType.VERB, result.get(0).getType());
         verify(wordRepository).findByType(WordType.VERB);
     }
@@ -95,10 +126,10 @@ class WordServiceTest {
         List<Word> expected = List.of(objectWord);
         when(wordRepository.findByType(WordType.OBJECT)).thenReturn(expected);
 
-        List<Word> result = wordService.findAll(WordType.OBJECT);
+        List<WordResponse> result = wordService.findAll(WordType.OBJECT).value();
 
         assertEquals(1, result.size());
-        assertEquals(expected, result);
+        assertEquals(expected.stream().map(Word::getId).toList(), result.stream().map(WordResponse::getId).toList());
         assertEquals(WordType.OBJECT, result.get(0).getType());
         verify(wordRepository).findByType(WordType.OBJECT);
     }
@@ -107,12 +138,60 @@ class WordServiceTest {
     void findAll_WithTypeNotFound_ReturnsEmptyList() {
         when(wordRepository.findByType(WordType.SUBJECT)).thenReturn(List.of());
 
-        List<Word> result = wordService.findAll(WordType.SUBJECT);
+        List<WordResponse> result = wordService.findAll(WordType.SUBJECT).value();
 
         assertTrue(result.isEmpty());
         verify(wordRepository).findByType(WordType.SUBJECT);
     }
 
+    @Test
+    void findPage_WithType_QueriesPageOrderedById() {
+        PageRequest pageable = PageRequest.of(1, 50, Sort.by("id"));
+        when(wordRepository.findByType(WordType.VERB, pageable))
+                .thenReturn(new PageImpl<>(List.of(verbWord), pageable, 51));
+
+        Page<Word> result = wordService.findPage(WordType.VERB, 1, 50);
+
+        assertEquals(List.of(verbWord), result.getContent());
+        assertEquals(2, result.getTotalPages());
+        verify(wordRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void findAll_CalledAgain_ServesFromMemoryUntilWordsChange() {
+        when(wordRepository.findByType(WordType.VERB)).thenReturn(List.of(verbWord));
+
+        wordService.findAll(WordType.VERB);
+        wordService.findAll(WordType.VERB);
+        verify(wordRepository, times(1)).findByType(WordType.VERB);
+
+        wordService.onCatalogChanged(CatalogChangedEvent.wordsChanged());
+        Cached<List<WordResponse>> result = wordService.findAll(WordType.VERB);
+
+        assertFalse(result.stale());
+        verify(wordRepository, times(2)).findByType(WordType.VERB);
+    }
+
+    @Test
+    void getBootstrap_GroupsWordsByTypeAndCountsVerbCombinations() {
+        Word idleVerb = new Word();
+        idleVerb.setId(5L);
+        idleVerb.setText("sleeps");
+        idleVerb.setType(WordType.VERB);
+        when(wordRepository.findAllWithCombinationCount()).thenReturn(List.of(
+                new WordCombinationCount(subjectWord, null),
+                new WordCombinationCount(verbWord, 3),
+                new WordCombinationCount(idleVerb, null)
+        ));
+
+        BootstrapResponse result = wordService.getBootstrap();
+
+        assertEquals(List.of(1L), result.words().get(WordType.SUBJECT).stream().map(WordResponse::getId).toList());
+        assertEquals(List.of(2L, 5L), result.words().get(WordType.VERB).stream().map(WordResponse::getId).toList());
+        assertTrue(result.words().get(WordType.OBJECT).isEmpty());
+        assertEquals(Map.of(2L, 3), result.combinationCounts());
+    }
+
     @Test
     void createWord_WithValidRequest_CreatesAndReturnsWord() {
         WordRequest request = new WordRequest();
@@ -179,6 +258,68 @@ class WordServiceTest {
         verify(wordRepository).save(any(Word.class));
     }
 
+    @Test
+    void upsertWords_WithDuplicatesInRequest_CreatesEachNormalizedWordOnce() {
+        List<WordRequest> requests = List.of(
+                wordRequest("Kissa", WordType.SUBJECT),
+                wordRequest("kissa ", WordType.SUBJECT),
+                wordRequest("syö", WordType.VERB)
+        );
+
+        when(wordRepository.findByNormalizedTextIn(anyCollection())).thenReturn(List.of());
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Word> words = invocation.getArgument(0);
+            long id = 10L;
+            for (Word word : words) {
+                word.setId(id++);
+            }
+            return words;
+        });
+
+        WordBulkResponse result = wordService.upsertWords(requests);
+
+        assertEquals(2, result.created());
+        assertEquals(0, result.updated());
+        assertEquals(3, result.words().size());
+        assertEquals(result.words().get(0).id(), result.words().get(1).id());
+        assertNotEquals(result.words().get(0).id(), result.words().get(2).id());
+        assertEquals("kissa ", result.words().get(0).text());
+        verify(wordRepository).findByNormalizedTextIn(anyCollection());
+        verify(wordRepository).saveAll(argThat(words -> ((List<Word>) words).size() == 2));
+    }
+
+    @Test
+    void upsertWords_WithExistingWordInDifferentCase_PatchesText() {
+        when(wordRepository.findByNormalizedTextIn(anyCollection())).thenReturn(List.of(subjectWord));
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WordBulkResponse result = wordService.upsertWords(List.of(wordRequest("Cat", WordType.SUBJECT)));
+
+        assertEquals(0, result.created());
+        assertEquals(1, result.updated());
+        WordBulkMapping mapping = result.words().get(0);
+        assertEquals(1L, mapping.id());
+        assertEquals(WordBulkMapping.Status.UPDATED, mapping.status());
+        assertEquals("Cat", subjectWord.getText());
+        verify(wordRepository).saveAll(argThat(words -> ((List<Word>) words).isEmpty()));
+    }
+
+    @Test
+    void upsertWords_WithSameTextOfOtherType_CreatesNewWord() {
+        when(wordRepository.findByNormalizedTextIn(anyCollection())).thenReturn(List.of(subjectWord));
+        when(wordRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WordBulkResponse result = wordService.upsertWords(List.of(
+                wordRequest("cat", WordType.SUBJECT),
+                wordRequest("cat", WordType.OBJECT)
+        ));
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.unchanged());
+        assertEquals(WordBulkMapping.Status.UNCHANGED, result.words().get(0).status());
+        assertEquals(WordBulkMapping.Status.CREATED, result.words().get(1).status());
+    }
+
     @Test
     void updateWord_WithValidIdAndRequest_UpdatesAndReturnsWord() {
         Long wordId = 1L;
@@ -269,24 +410,31 @@ class WordServiceTest {
     @Test
     void deleteWord_WithExistingId_DeletesWord() {
         Long wordId = 1L;
-        when(wordRepository.existsById(wordId)).thenReturn(true);
+        when(wordRepository.deleteWordById(wordId)).thenReturn(1);
 
         wordService.deleteWord(wordId);
 
-        verify(wordRepository).existsById(wordId);
-        verify(wordRepository).deleteById(wordId);
+        verify(wordRepository).deleteWordById(wordId);
+        verify(wordRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(CatalogChangedEvent.wordsChanged());
     }
 
     @Test
     void deleteWord_WithNonExistentId_ThrowsNoSuchElementException() {
         Long wordId = 999L;
-        when(wordRepository.existsById(wordId)).thenReturn(false);
+        when(wordRepository.deleteWordById(wordId)).thenReturn(0);
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class,
                 () -> wordService.deleteWord(wordId));
 
         assertTrue(exception.getMessage().contains("Word not found with ID: " + wordId));
-        verify(wordRepository).existsById(wordId);
-        verify(wordRepository, never()).deleteById(any());
+        verify(wordRepository).deleteWordById(wordId);
+    }
+
+    private static WordRequest wordRequest(String text, WordType type) {
+        WordRequest request = new WordRequest();
+        request.setText(text);
+        request.setType(type);
+        return request;
     }
 }
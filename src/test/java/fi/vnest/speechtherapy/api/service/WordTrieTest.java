@@ -0,0 +1,98 @@
+package fi.vnest.speechtherapy.api.service;
+
+import fi.vnest.speechtherapy.api.dto.WordSearchResult;
+import fi.vnest.speechtherapy.api.model.Word;
+import fi.vnest.speechtherapy.api.model.WordType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordTrieTest {
+
+    private WordTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = WordTrie.build(List.of(
+                word(1L, "Kissa", WordType.SUBJECT),
+                word(2L, "kissanpentu", WordType.SUBJECT),
+                word(3L, "Äiti", WordType.SUBJECT),
+                word(4L, "kirja", WordType.OBJECT),
+                word(5L, "ajaa", WordType.VERB),
+                word(6L, "traktoria", WordType.OBJECT)
+        ));
+    }
+
+    @Test
+    void search_WithExactPrefix_ReturnsShorterWordsFirst() {
+        List<WordSearchResult> result = trie.search(Word.normalize("kiss"), null, 10);
+
+        assertEquals(List.of(1L, 2L), ids(result.subList(0, 2)));
+        assertEquals(0, result.get(0).distance());
+        assertEquals("Kissa", result.get(0).text());
+    }
+
+    @Test
+    void search_IgnoresFinnishCase() {
+        List<WordSearchResult> result = trie.search(Word.normalize("ÄI"), null, 10);
+
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    void search_WithTypo_ReturnsMatchWithDistance() {
+        List<WordSearchResult> result = trie.search(Word.normalize("trakori"), null, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(6L, result.get(0).id());
+        assertEquals(1, result.get(0).distance());
+    }
+
+    @Test
+    void search_WithShortQuery_DoesNotAllowTypos() {
+        List<WordSearchResult> result = trie.search(Word.normalize("ko"), null, 10);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void search_RanksExactPrefixBeforeTypos() {
+        List<WordSearchResult> result = trie.search(Word.normalize("kirj"), null, 10);
+
+        assertEquals(4L, result.get(0).id());
+        assertEquals(0, result.get(0).distance());
+        assertTrue(result.stream().skip(1).allMatch(hit -> hit.distance() > 0));
+    }
+
+    @Test
+    void search_WithTypeFilter_ReturnsOnlyThatType() {
+        List<WordSearchResult> result = trie.search(Word.normalize("ki"), WordType.OBJECT, 10);
+
+        assertEquals(List.of(4L), ids(result));
+    }
+
+    @Test
+    void search_RespectsLimit() {
+        List<WordSearchResult> result = trie.search(Word.normalize("ki"), null, 1);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void search_WithEmptyQuery_ReturnsNothing() {
+        assertTrue(trie.search(Word.normalize("  "), null, 10).isEmpty());
+    }
+
+    private static Word word(Long id, String text, WordType type) {
+        Word word = new Word(text, type);
+        word.setId(id);
+        return word;
+    }
+
+    private static List<Long> ids(List<WordSearchResult> results) {
+        return results.stream().map(WordSearchResult::id).toList();
+    }
+}
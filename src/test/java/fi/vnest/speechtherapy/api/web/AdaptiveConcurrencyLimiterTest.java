@@ -0,0 +1,118 @@
+package fi.vnest.speechtherapy.api.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 5_000_000;
+    private static final long SLOW = 50_000_000;
+
+    @Test
+    void tryAcquire_AtLimit_Rejects() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire(1.0));
+        assertTrue(limiter.tryAcquire(1.0));
+        assertFalse(limiter.tryAcquire(1.0));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void tryAcquire_WithSmallerShare_RejectsEarlier() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+
+        assertFalse(limiter.tryAcquire(0.5));
+        assertTrue(limiter.tryAcquire(1.0));
+    }
+
+    @Test
+    void release_WithRisingLatency_ShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100);
+        runSaturated(limiter, FAST, 200);
+        int limitBefore = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 50);
+
+        assertTrue(limiter.getLimit() < limitBefore, "Limit should shrink, was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_WithStableLatencyUnderLoad_GrowsLimitUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 40);
+
+        runSaturated(limiter, FAST, 500);
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void release_WithStableLatencyWithoutLoad_KeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 5, 40);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(1.0);
+            limiter.release(FAST);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void release_WithVerySlowRequests_NeverGoesBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 20, 100);
+        runSaturated(limiter, FAST, 100);
+        int lowestLimit = limiter.getLimit();
+
+        for (int i = 0; i < 100; i++) {
+            runSaturated(limiter, SLOW * 100, 1);
+            lowestLimit = Math.min(lowestLimit, limiter.getLimit());
+        }
+
+        assertEquals(20, lowestLimit);
+    }
+
+    @Test
+    void release_WithSustainedHigherLatency_RecoversAsBaselineAdapts() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100);
+        runSaturated(limiter, FAST, 100);
+        runSaturated(limiter, SLOW, 50);
+        int shrunkLimit = limiter.getLimit();
+
+        runSaturated(limiter, SLOW, 1000);
+
+        assertTrue(limiter.getLimit() > shrunkLimit);
+    }
+
+    @Test
+    void release_WithoutSample_FreesSlotAndKeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100);
+        runSaturated(limiter, FAST, 200);
+        int limitBefore = limiter.getLimit();
+        int inFlightBefore = limiter.getInFlight();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release();
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+
+        assertEquals(limitBefore, limiter.getLimit());
+        assertEquals(inFlightBefore, limiter.getInFlight());
+    }
+
+    /**
+     * Keeps the limiter full and completes one request per round with the given latency.
+     */
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long latencyNanos, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            while (limiter.tryAcquire(1.0)) {
+                // Fill all free slots
+            }
+            limiter.release(latencyNanos);
+        }
+    }
+}
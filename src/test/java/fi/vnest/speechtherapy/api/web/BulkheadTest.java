@@ -0,0 +1,74 @@
+package fi.vnest.speechtherapy.api.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void tryEnter_UnderLimit_AdmitsImmediately() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 2, 0, Duration.ZERO, new SimpleMeterRegistry());
+
+        assertTrue(bulkhead.tryEnter());
+        assertTrue(bulkhead.tryEnter());
+        assertEquals(2, bulkhead.activeCount());
+    }
+
+    @Test
+    void tryEnter_WithFullQueue_RejectsWithoutWaiting() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        bulkhead.tryEnter();
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryEnter());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, bulkhead.rejectedCount());
+    }
+
+    @Test
+    void tryEnter_WhenWaitTimesOut_Rejects() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(20), new SimpleMeterRegistry());
+        bulkhead.tryEnter();
+
+        assertFalse(bulkhead.tryEnter());
+        assertEquals(0, bulkhead.queuedCount());
+        assertEquals(1, bulkhead.rejectedCount());
+    }
+
+    @Test
+    void tryEnter_WhileQueued_AdmitsWhenSlotIsReleased() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        bulkhead.tryEnter();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+
+        try {
+            Future<Boolean> waiting = executor.submit(() -> {
+                started.countDown();
+                return bulkhead.tryEnter();
+            });
+            started.await();
+            while (bulkhead.queuedCount() == 0) {
+                Thread.sleep(1);
+            }
+
+            bulkhead.exit();
+
+            assertTrue(waiting.get(5, TimeUnit.SECONDS));
+            assertEquals(1, bulkhead.activeCount());
+            assertEquals(0, bulkhead.queuedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package fi.vnest.speechtherapy.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore.Claim;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore.Outcome;
+import fi.vnest.speechtherapy.api.service.IdempotencyStore.StoredResponse;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String REQUEST_BODY = "{\"text\":\"kissa\",\"type\":\"SUBJECT\"}";
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    private IdempotencyFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyStore, new ObjectMapper(), DataSize.ofBytes(64));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void getRequest_IsNotFiltered() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/words");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        RecordingServlet servlet = new RecordingServlet(200);
+
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+
+        assertTrue(servlet.invoked);
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void firstRequest_RunsAndStoresResponse() throws Exception {
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.CLAIMED, null));
+        RecordingServlet servlet = new RecordingServlet(201);
+
+        filter.doFilter(writeRequest("key-1"), response, new MockFilterChain(servlet));
+
+        assertEquals(REQUEST_BODY, servlet.receivedBody);
+        assertEquals(201, response.getStatus());
+        assertEquals("created", response.getContentAsString());
+        verify(idempotencyStore).complete(eq("key-1"), anyString(), eq(201), startsWith("application/json"),
+                aryEq("created".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void retriedRequest_ReplaysStoredResponseWithoutRunning() throws Exception {
+        StoredResponse stored = new StoredResponse("fingerprint", 201, "application/json",
+                "created".getBytes(StandardCharsets.UTF_8), Instant.now().plusSeconds(60));
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.COMPLETED, stored));
+        RecordingServlet servlet = new RecordingServlet(201);
+
+        filter.doFilter(writeRequest("key-1"), response, new MockFilterChain(servlet));
+
+        assertFalse(servlet.invoked);
+        assertEquals(201, response.getStatus());
+        assertEquals("created", response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void serverError_ReleasesKey() throws Exception {
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.CLAIMED, null));
+
+        filter.doFilter(writeRequest("key-1"), response, new MockFilterChain(new RecordingServlet(500)));
+
+        verify(idempotencyStore).release(eq("key-1"), anyString());
+        verify(idempotencyStore, never()).complete(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void keyReusedForDifferentRequest_Returns422() throws Exception {
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.MISMATCH, null));
+
+        filter.doFilter(writeRequest("key-1"), response, new MockFilterChain(new RecordingServlet(201)));
+
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void retryWhileFirstRequestRuns_Returns409() throws Exception {
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.IN_PROGRESS, null));
+
+        filter.doFilter(writeRequest("key-1"), response, new MockFilterChain(new RecordingServlet(201)));
+
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void fingerprint_DependsOnRequestBody() throws Exception {
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(new Claim(Outcome.IN_PROGRESS, null));
+        MockHttpServletRequest otherBody = writeRequest("key-1");
+        otherBody.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(writeRequest("key-1"), new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(201)));
+        filter.doFilter(writeRequest("key-1"), new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(201)));
+        filter.doFilter(otherBody, new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(201)));
+
+        ArgumentCaptor<String> fingerprints = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyStore, times(3)).claim(eq("key-1"), fingerprints.capture());
+        assertEquals(fingerprints.getAllValues().get(0), fingerprints.getAllValues().get(1));
+        assertNotEquals(fingerprints.getAllValues().get(0), fingerprints.getAllValues().get(2));
+    }
+
+    @Test
+    void bodyOverLimit_Returns413WithoutClaiming() throws Exception {
+        MockHttpServletRequest request = writeRequest("key-1");
+        request.setContent(new byte[65]);
+        RecordingServlet servlet = new RecordingServlet(201);
+
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+
+        assertEquals(413, response.getStatus());
+        assertFalse(servlet.invoked);
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    void cachedBody_NotifiesReadListenerImmediately() throws Exception {
+        CachedBodyRequest request = new CachedBodyRequest(writeRequest("key-1"), new byte[]{1, 2, 3});
+        ServletInputStream input = request.getInputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data:" + input.readAllBytes().length);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data:3", "done"), events);
+    }
+
+    private static MockHttpServletRequest writeRequest(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/words");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(REQUEST_BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static class RecordingServlet extends HttpServlet {
+
+        private final int status;
+        private boolean invoked;
+        private String receivedBody;
+
+        RecordingServlet(int status) {
+            this.status = status;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            invoked = true;
+            receivedBody = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getWriter().write(status == 201 ? "created" : "failed");
+        }
+    }
+}